@@ -0,0 +1,101 @@
+package com.ywh.benchmark;
+
+import com.ywh.ds.hash.BlockedBloomFilter;
+import com.ywh.ds.hash.BloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+/**
+ * 布隆过滤器查询延迟：BloomFilter（k 个随机位置）vs BlockedBloomFilter（一个缓存行）
+ *
+ * 按 bits 与 fpp 反推预计元素个数 n = m * (ln2)^2 / -ln(p)，插入 0 ~ n-1 后：
+ * 1. containsHit 查询已插入的元素，每次查询都要检查全部 k 位；
+ * 2. containsMiss 查询未插入的元素，多数在前一两位就返回。
+ * 查询 key 预先随机生成，依次轮转。Setup 打印实测误判率，用于对比延迟与误判率的取舍。
+ *
+ * java -jar target/benchmarks.jar BloomFilterBenchmark -p bits=1000000000
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BloomFilterBenchmark {
+
+    private static final long SEED = 20191113L;
+
+    private static final int QUERIES = 1 << 20;
+
+    @Param({"1000000000"})
+    public long bits;
+
+    @Param({"0.01"})
+    public double fpp;
+
+    @Param({"PLAIN", "BLOCKED"})
+    public String impl;
+
+    private LongPredicate filter;
+
+    private final long[] hits = new long[QUERIES], misses = new long[QUERIES];
+
+    private int cursor = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        long n = (long) (bits * Math.log(2) * Math.log(2) / -Math.log(fpp));
+        if ("PLAIN".equals(impl)) {
+            BloomFilter bf = new BloomFilter(n, fpp);
+            for (long i = 0; i < n; i++) {
+                bf.add(i);
+            }
+            filter = bf::contains;
+        } else {
+            BlockedBloomFilter bf = new BlockedBloomFilter(n, fpp);
+            for (long i = 0; i < n; i++) {
+                bf.add(i);
+            }
+            filter = bf::contains;
+        }
+        Random random = new Random(SEED);
+        int falsePositives = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            hits[i] = (random.nextLong() & Long.MAX_VALUE) % n;
+            misses[i] = n + (random.nextLong() & Long.MAX_VALUE) % (Long.MAX_VALUE - n);
+            if (filter.test(misses[i])) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("%n%s: n=%d, measured fpp=%.5f%n", impl, n, (double) falsePositives / QUERIES);
+    }
+
+    @Benchmark
+    public boolean containsHit() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return filter.test(hits[cursor]);
+    }
+
+    @Benchmark
+    public boolean containsMiss() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return filter.test(misses[cursor]);
+    }
+}
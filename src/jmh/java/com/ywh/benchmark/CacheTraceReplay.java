@@ -0,0 +1,224 @@
+package com.ywh.benchmark;
+
+import com.ywh.ds.cache.IntLFUCache;
+import com.ywh.ds.cache.IntLRUCache;
+import com.ywh.ds.cache.LFUCache;
+import com.ywh.ds.cache.LRUCache;
+import com.ywh.ds.cache.WTinyLFUCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * 缓存淘汰策略的访问序列回放：比较 LRU、LFU（及其数组实现）、W-TinyLFU 的命中率与吞吐
+ *
+ * 命中率只取决于访问序列，不需要 JMH 的预热与统计，因此这里直接回放：每次访问先 get，未命中再 put，与“读穿透”的用法一致。
+ * 内置序列：
+ * 1. ZIPF：Zipf(0.99) 分布，热点稳定；
+ * 2. SCAN：Zipf 访问中周期性穿插对冷数据的顺序扫描；
+ * 3. SHIFT：热点集合每个阶段整体迁移，考察频率老化；
+ * 4. LOOP：循环访问比容量多 50% 的 key，LRU 的最坏情况。
+ * 也可以传入文件路径回放真实序列（空白分隔的 int key）。
+ *
+ * java -cp target/benchmarks.jar com.ywh.benchmark.CacheTraceReplay [capacity] [trace file...]
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class CacheTraceReplay {
+
+    private static final long SEED = 20191113L;
+
+    private static final int ACCESSES = 2_000_000, UNIVERSE = 1 << 20;
+
+    /**
+     * 被测缓存的统一视图
+     */
+    private interface Policy {
+
+        int get(int key);
+
+        void put(int key, int value);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int capacity = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        String[] names = {"LRU", "LFU", "IntLRU", "IntLFU", "W-TinyLFU"};
+        IntFunction<Policy>[] factories = factories();
+
+        System.out.printf("capacity=%d%n%-12s", capacity, "trace");
+        for (String name : names) {
+            System.out.printf("%16s%10s", name + " hit%", "ops/ms");
+        }
+        System.out.println();
+
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                replay(Paths.get(args[i]).getFileName().toString(), load(args[i]), capacity, factories);
+            }
+            return;
+        }
+        replay("ZIPF", scramble(zipf(ACCESSES, UNIVERSE, 0.99, new Random(SEED))), capacity, factories);
+        replay("SCAN", scramble(scan(capacity)), capacity, factories);
+        replay("SHIFT", scramble(shift(capacity)), capacity, factories);
+        replay("LOOP", scramble(loop(capacity)), capacity, factories);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IntFunction<Policy>[] factories() {
+        return new IntFunction[]{
+            (IntFunction<Policy>) c -> {
+                LRUCache cache = new LRUCache(c);
+                return new Policy() {
+                    public int get(int key) { return cache.get(key); }
+                    public void put(int key, int value) { cache.put(key, value); }
+                };
+            },
+            (IntFunction<Policy>) c -> {
+                LFUCache cache = new LFUCache(c);
+                return new Policy() {
+                    public int get(int key) { return cache.get(key); }
+                    public void put(int key, int value) { cache.put(key, value); }
+                };
+            },
+            (IntFunction<Policy>) c -> {
+                IntLRUCache cache = new IntLRUCache(c);
+                return new Policy() {
+                    public int get(int key) { return cache.get(key); }
+                    public void put(int key, int value) { cache.put(key, value); }
+                };
+            },
+            (IntFunction<Policy>) c -> {
+                IntLFUCache cache = new IntLFUCache(c);
+                return new Policy() {
+                    public int get(int key) { return cache.get(key); }
+                    public void put(int key, int value) { cache.put(key, value); }
+                };
+            },
+            (IntFunction<Policy>) c -> {
+                WTinyLFUCache cache = new WTinyLFUCache(c);
+                return new Policy() {
+                    public int get(int key) { return cache.get(key); }
+                    public void put(int key, int value) { cache.put(key, value); }
+                };
+            },
+        };
+    }
+
+    private static void replay(String name, int[] trace, int capacity, IntFunction<Policy>[] factories) {
+        System.out.printf("%-12s", name);
+        for (IntFunction<Policy> factory : factories) {
+            Policy cache = factory.apply(capacity);
+            long hits = 0, start = System.nanoTime();
+            for (int key : trace) {
+                if (cache.get(key) != -1) {
+                    hits++;
+                } else {
+                    cache.put(key, 1);
+                }
+            }
+            long elapsed = Math.max(System.nanoTime() - start, 1);
+            System.out.printf("%16.2f%10d", 100.0 * hits / trace.length, trace.length * 1_000_000L / elapsed);
+        }
+        System.out.println();
+    }
+
+    private static int[] load(String file) throws IOException {
+        return Arrays.stream(new String(Files.readAllBytes(Paths.get(file))).trim().split("\\s+"))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    }
+
+    /**
+     * 把编号映射为打散的非零 key（乘以奇数在 2^32 内是双射），避免连续 key 与 LRUCache 预分配节点的默认 key 0 冲突
+     *
+     * @param trace
+     * @return
+     */
+    private static int[] scramble(int[] trace) {
+        for (int i = 0; i < trace.length; i++) {
+            trace[i] = (trace[i] + 1) * 0x9E3779B1;
+        }
+        return trace;
+    }
+
+    /**
+     * Zipf 分布：按累积分布函数二分查找，返回排名
+     *
+     * @param n
+     * @param universe
+     * @param s
+     * @param random
+     * @return
+     */
+    private static int[] zipf(int n, int universe, double s, Random random) {
+        double[] cdf = new double[universe];
+        double sum = 0;
+        for (int i = 0; i < universe; i++) {
+            sum += 1 / Math.pow(i + 1, s);
+            cdf[i] = sum;
+        }
+        int[] trace = new int[n];
+        for (int i = 0; i < n; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            rank = rank < 0 ? -rank - 1 : rank;
+            trace[i] = Math.min(rank, universe - 1);
+        }
+        return trace;
+    }
+
+    /**
+     * 每 10 个容量长度的 Zipf 访问之后扫描一次 2 倍容量的冷数据，冷数据编号从 UNIVERSE 开始，不与 Zipf 重复
+     *
+     * @param capacity
+     * @return
+     */
+    private static int[] scan(int capacity) {
+        int[] hot = zipf(ACCESSES, UNIVERSE, 0.99, new Random(SEED));
+        int block = 10 * capacity, scanLength = 2 * capacity, cold = UNIVERSE;
+        int[] trace = new int[hot.length + (hot.length / block) * scanLength];
+        int t = 0;
+        for (int i = 0; i < hot.length; i++) {
+            trace[t++] = hot[i];
+            if ((i + 1) % block == 0) {
+                for (int j = 0; j < scanLength; j++) {
+                    trace[t++] = cold++;
+                }
+            }
+        }
+        return Arrays.copyOf(trace, t);
+    }
+
+    /**
+     * 分 8 个阶段，每个阶段的 Zipf 热点整体平移到新的 key 区间
+     *
+     * @param capacity
+     * @return
+     */
+    private static int[] shift(int capacity) {
+        int phases = 8, universe = 16 * capacity;
+        int[] trace = zipf(ACCESSES, universe, 0.99, new Random(SEED));
+        int phase = trace.length / phases;
+        for (int i = 0; i < trace.length; i++) {
+            trace[i] += (i / phase) * universe;
+        }
+        return trace;
+    }
+
+    /**
+     * @param capacity
+     * @return
+     */
+    private static int[] loop(int capacity) {
+        int span = capacity + capacity / 2;
+        int[] trace = new int[ACCESSES];
+        for (int i = 0; i < trace.length; i++) {
+            trace[i] = i % span;
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,138 @@
+package com.ywh.benchmark;
+
+import java.util.Random;
+
+/**
+ * 基准测试输入数据分布，取值范围均为 [0, n)，保证计数排序等依赖取值范围的算法可用
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public enum Distribution {
+
+    /**
+     * 均匀分布
+     */
+    UNIFORM {
+        @Override
+        public int[] generate(int n, long seed) {
+            Random random = new Random(seed);
+            int[] arr = new int[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = random.nextInt(n);
+            }
+            return arr;
+        }
+    },
+
+    /**
+     * 升序
+     */
+    SORTED {
+        @Override
+        public int[] generate(int n, long seed) {
+            int[] arr = new int[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = i;
+            }
+            return arr;
+        }
+    },
+
+    /**
+     * 降序
+     */
+    REVERSE {
+        @Override
+        public int[] generate(int n, long seed) {
+            int[] arr = new int[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = n - 1 - i;
+            }
+            return arr;
+        }
+    },
+
+    /**
+     * 少量不同值（大量重复元素）
+     */
+    FEW_UNIQUE {
+        @Override
+        public int[] generate(int n, long seed) {
+            Random random = new Random(seed);
+            int[] arr = new int[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = random.nextInt(FEW_UNIQUE_VALUES);
+            }
+            return arr;
+        }
+    },
+
+    /**
+     * 管风琴分布：前半升序、后半降序
+     */
+    ORGAN_PIPE {
+        @Override
+        public int[] generate(int n, long seed) {
+            int[] arr = new int[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = i < n / 2 ? 2 * i : 2 * (n - 1 - i) + 1;
+            }
+            return arr;
+        }
+    },
+
+    /**
+     * Zipf 分布（s = 1），排名 r 的值出现概率与 1/r 成正比，排名到值的映射随机打乱
+     */
+    ZIPF {
+        @Override
+        public int[] generate(int n, long seed) {
+            Random random = new Random(seed);
+
+            // 值域过大时 CDF 表会占用过多内存，截断到 ZIPF_UNIVERSE 个排名
+            int k = Math.max(1, Math.min(n, ZIPF_UNIVERSE));
+            double[] cdf = new double[k];
+            double sum = 0;
+            for (int r = 0; r < k; r++) {
+                sum += 1.0 / (r + 1);
+                cdf[r] = sum;
+            }
+
+            // 排名 -> 值，避免高频值总是最小的那几个
+            int[] values = new int[k];
+            for (int r = 0; r < k; r++) {
+                values[r] = random.nextInt(n);
+            }
+
+            int[] arr = new int[n];
+            for (int i = 0; i < n; i++) {
+                double u = random.nextDouble() * sum;
+                int low = 0, high = k - 1;
+                while (low < high) {
+                    int mid = low + (high - low) / 2;
+                    if (cdf[mid] < u) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                arr[i] = values[low];
+            }
+            return arr;
+        }
+    };
+
+    private static final int FEW_UNIQUE_VALUES = 16;
+
+    private static final int ZIPF_UNIVERSE = 1 << 20;
+
+    /**
+     * 生成长度为 n 的数组，相同 seed 生成相同数据
+     *
+     * @param n
+     * @param seed
+     * @return
+     */
+    public abstract int[] generate(int n, long seed);
+}
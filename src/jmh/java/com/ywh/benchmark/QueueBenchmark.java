@@ -0,0 +1,104 @@
+package com.ywh.benchmark;
+
+import com.ywh.ds.concurrent.BlockingQueue;
+import com.ywh.ds.concurrent.MpmcArrayQueue;
+import com.ywh.ds.concurrent.WaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发队列吞吐：BlockingQueue vs MpmcArrayQueue（各等待策略）
+ *
+ * 等待策略只是 MpmcState 的参数，BlockingQueue 基线只测一次。
+ * 每次调用先入队再出队，所有线程共享一个队列：出队前至少有同样多的入队，容量不小于线程数，阻塞操作不会在迭代结束时挂起。
+ * 线程数用 -t 调整。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class QueueBenchmark {
+
+    private static final Integer ELEMENT = 1;
+
+    /**
+     * BlockingQueue 基线，没有等待策略
+     */
+    @State(Scope.Benchmark)
+    public static class BlockingState {
+
+        @Param({"1024"})
+        public int capacity;
+
+        private BlockingQueue<Integer> queue;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            queue = new BlockingQueue<>(capacity);
+        }
+    }
+
+    /**
+     * MpmcArrayQueue，按等待策略分别测量
+     */
+    @State(Scope.Benchmark)
+    public static class MpmcState {
+
+        @Param({"1024"})
+        public int capacity;
+
+        @Param({"SPIN", "YIELDING", "PARKING", "BLOCKING"})
+        public String waitStrategy;
+
+        private MpmcArrayQueue<Integer> queue;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            WaitStrategy strategy;
+            switch (waitStrategy) {
+                case "SPIN":
+                    strategy = WaitStrategy.spin();
+                    break;
+                case "YIELDING":
+                    strategy = WaitStrategy.yielding();
+                    break;
+                case "PARKING":
+                    strategy = WaitStrategy.parking();
+                    break;
+                default:
+                    strategy = WaitStrategy.blocking();
+            }
+            queue = new MpmcArrayQueue<>(capacity, strategy);
+        }
+    }
+
+    @Benchmark
+    public Integer blockingQueue(BlockingState state) throws InterruptedException {
+        state.queue.add(ELEMENT);
+        return state.queue.poll();
+    }
+
+    @Benchmark
+    public Integer mpmcQueue(MpmcState state) throws InterruptedException {
+        state.queue.put(ELEMENT);
+        return state.queue.take();
+    }
+}
@@ -0,0 +1,166 @@
+package com.ywh.benchmark;
+
+import com.ywh.ds.sorting.BucketSort;
+import com.ywh.ds.sorting.CountingSort;
+import com.ywh.ds.sorting.HeapSort;
+import com.ywh.ds.sorting.MergeSort;
+import com.ywh.ds.sorting.QuickSort;
+import com.ywh.ds.sorting.RadixSort;
+import com.ywh.ds.sorting.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * com.ywh.ds.sorting 下各排序算法的基准测试
+ *
+ * 每次调用先把原始数据拷贝到工作数组再排序，拷贝开销 O(n) 对所有算法相同。
+ * 规模较大时 O(n^2) 退化的算法（如有序输入下的 lomutoSort）会非常慢甚至栈溢出，可以用 -p size=... 缩小范围。
+ *
+ * 默认规模最大 10^7，-Xmx2g 足够。10^8 需要单独指定：原始数据、工作数组与归并 / 基数排序的辅助数组共约 1.6GB，
+ * bucketSort 还要把 10^8 个 Integer 装箱放入 ArrayList，需要更大的堆：
+ * java -jar target/benchmarks.jar SortingBenchmark -p size=100000000 -jvmArgsAppend -Xmx8g
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SortingBenchmark {
+
+    private static final long SEED = 20191113L;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "SORTED", "REVERSE", "FEW_UNIQUE", "ORGAN_PIPE", "ZIPF"})
+    public Distribution distribution;
+
+    private int[] source;
+
+    private int[] arr;
+
+    private final QuickSort quickSort = new QuickSort();
+
+    private final MergeSort mergeSort = new MergeSort();
+
+    private final RadixSort radixSort = new RadixSort();
+
+    private final HeapSort heapSort = new HeapSort();
+
+    private final ShellSort shellSort = new ShellSort();
+
+    private final CountingSort countingSort = new CountingSort();
+
+    private final BucketSort bucketSort = new BucketSort();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = distribution.generate(size, SEED);
+        arr = new int[size];
+    }
+
+    private int[] copy() {
+        System.arraycopy(source, 0, arr, 0, size);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] quickHoare() {
+        quickSort.hoareSort(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] quickLomuto() {
+        quickSort.lomutoSort(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] quickIntro() {
+        quickSort.introSort(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] mergeRecursive() {
+        mergeSort.sortRecursive(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] mergeIterative() {
+        mergeSort.sortIterative(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] mergeAdaptive() {
+        mergeSort.sortAdaptive(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] mergeParallel() {
+        mergeSort.parallelSort(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] radix8passInCounting() {
+        radixSort.sort8passInCounting(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] radix4passInCounting() {
+        radixSort.sort4passInCounting(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] radixParallel() {
+        radixSort.parallelSort(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] heap() {
+        heapSort.sort(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] shell() {
+        shellSort.sort(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] counting() {
+        countingSort.sortLeft2Right(copy());
+        return arr;
+    }
+
+    @Benchmark
+    public int[] bucket() {
+        bucketSort.sort(copy());
+        return arr;
+    }
+}
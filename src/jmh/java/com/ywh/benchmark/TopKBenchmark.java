@@ -0,0 +1,98 @@
+package com.ywh.benchmark;
+
+import com.ywh.ds.heap.TopK;
+import com.ywh.ds.sorting.QuickSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 取最大的 k 个元素：全排序基线 vs 快速选择 vs 部分排序 vs 流式 Top-K
+ *
+ * 前三种会修改数组，每次调用先拷贝原始数据；流式 Top-K 只读原始数据，拷贝开销单独由 copyOnly 给出，便于扣除。
+ * size = 10^8 时原始数据与工作数组共约 800MB，固定 -Xmx2g，不依赖默认堆大小。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TopKBenchmark {
+
+    private static final long SEED = 20191113L;
+
+    @Param({"1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"1000"})
+    public int k;
+
+    @Param({"UNIFORM", "SORTED", "ZIPF"})
+    public Distribution distribution;
+
+    private int[] source;
+
+    private int[] arr;
+
+    private final QuickSort quickSort = new QuickSort();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = distribution.generate(size, SEED);
+        arr = new int[size];
+    }
+
+    private int[] copy() {
+        System.arraycopy(source, 0, arr, 0, size);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] copyOnly() {
+        return copy();
+    }
+
+    @Benchmark
+    public int fullSort() {
+        quickSort.introSort(copy());
+        return arr[size - k];
+    }
+
+    @Benchmark
+    public int select() {
+        return quickSort.select(copy(), size - k);
+    }
+
+    @Benchmark
+    public int[] partialSort() {
+        // 最大的 k 个，即按降序的前 k 个：取反后部分排序（~x 保序反转且不溢出）
+        int[] a = copy();
+        for (int i = 0; i < size; i++) {
+            a[i] = ~a[i];
+        }
+        quickSort.partialSort(a, k);
+        return a;
+    }
+
+    @Benchmark
+    public int[] streamingTopK() {
+        TopK topK = TopK.largest(k);
+        topK.offerAll(source);
+        return topK.toSortedArray();
+    }
+}
@@ -0,0 +1,149 @@
+package com.ywh.ds.cache;
+
+/**
+ * 缓存统计的不可变快照，由 StatsCounter.snapshot() 生成
+ *
+ * 加载耗时直方图按 2 的幂分桶：第 i 个桶统计耗时在 [2^(i-1), 2^i) 纳秒内的加载次数（第 0 个桶为 0 纳秒），
+ * 百分位数返回所在桶的上界，误差不超过 2 倍。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public final class CacheStats {
+
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0, new long[StatsCounter.HISTOGRAM_BUCKETS]);
+
+    private final long hitCount, missCount, evictionCount, loadSuccessCount, loadFailureCount, totalLoadTime;
+
+    private final long[] loadLatencyHistogram;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long loadSuccessCount, long loadFailureCount,
+               long totalLoadTime, long[] loadLatencyHistogram) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.loadLatencyHistogram = loadLatencyHistogram;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * 命中率，没有请求时为 1
+     *
+     * @return
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * 未命中率，没有请求时为 0
+     *
+     * @return
+     */
+    public double missRate() {
+        long requests = requestCount();
+        return requests == 0 ? 0.0 : (double) missCount / requests;
+    }
+
+    /**
+     * 被淘汰（含过期）的元素个数
+     *
+     * @return
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long loadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * 加载总耗时（纳秒）
+     *
+     * @return
+     */
+    public long totalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * 平均加载耗时（纳秒）
+     *
+     * @return
+     */
+    public double averageLoadPenalty() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTime / loads;
+    }
+
+    /**
+     * 加载耗时的百分位数（纳秒，所在桶的上界）
+     *
+     * @param percentile [0, 100]
+     * @return 没有加载时返回 0
+     */
+    public long loadLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in [0, 100]");
+        }
+        long total = 0;
+        for (long count : loadLatencyHistogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100)), seen = 0;
+        for (int i = 0; i < loadLatencyHistogram.length; i++) {
+            seen += loadLatencyHistogram[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 加载耗时直方图的拷贝
+     *
+     * @return
+     */
+    public long[] loadLatencyHistogram() {
+        return loadLatencyHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+            "hitCount=" + hitCount +
+            ", missCount=" + missCount +
+            ", hitRate=" + hitRate() +
+            ", evictionCount=" + evictionCount +
+            ", loadSuccessCount=" + loadSuccessCount +
+            ", loadFailureCount=" + loadFailureCount +
+            ", totalLoadTime=" + totalLoadTime +
+            ", loadLatencyP50=" + loadLatencyPercentile(50) +
+            ", loadLatencyP99=" + loadLatencyPercentile(99) +
+            '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.ywh.ds.cache;
+
+/**
+ * 缓存统计的 JMX 接口，由 StatsCounter 实现，通过 StatsCounter.registerMBean 注册到平台 MBeanServer
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public interface CacheStatsMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getEvictionCount();
+
+    long getLoadSuccessCount();
+
+    long getLoadFailureCount();
+
+    /**
+     * @return 加载总耗时（纳秒）
+     */
+    long getTotalLoadTime();
+
+    /**
+     * @return 平均加载耗时（纳秒）
+     */
+    double getAverageLoadPenalty();
+
+    /**
+     * @return 加载耗时的 50 百分位数（纳秒）
+     */
+    long getLoadLatencyP50();
+
+    /**
+     * @return 加载耗时的 99 百分位数（纳秒）
+     */
+    long getLoadLatencyP99();
+
+    /**
+     * @return 加载耗时的 99.9 百分位数（纳秒）
+     */
+    long getLoadLatencyP999();
+
+    /**
+     * 清零所有计数
+     */
+    void reset();
+}
@@ -0,0 +1,127 @@
+package com.ywh.ds.cache;
+
+/**
+ * 频率草图：4 位计数器的 Count-Min Sketch，用于估计 key 最近的访问频率
+ *
+ * 每个 long 存放 16 个 4 位计数器（最大 15）。一个 key 在 4 行中各对应一个计数器，估计值取最小的那个。
+ * 4 行计数器落在同一个 long 的不同 4 位组中，由 key 哈希的低 2 位决定使用哪一组。
+ * 递增次数达到 sampleSize 时所有计数器减半（老化），使过去的热点逐渐失去优势。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /**
+     * 每个 4 位计数器的最低位、去掉最高位（右移后）的掩码
+     */
+    private static final long ONE_MASK = 0x1111111111111111L, RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+
+    private final int tableMask;
+
+    private final int sampleSize;
+
+    /**
+     * 上次减半后的递增次数
+     */
+    private int size;
+
+    /**
+     * @param capacity 缓存容量，计数器个数与其同阶
+     */
+    FrequencySketch(int capacity) {
+        int len = Math.max(Integer.highestOneBit(Math.max(capacity, 1) - 1) << 1, 8);
+        this.table = new long[len];
+        this.tableMask = len - 1;
+        this.sampleSize = capacity <= 0 ? 10 : (int) Math.min(10L * capacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 二次哈希打散
+     *
+     * @param x
+     * @return
+     */
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    /**
+     * 第 i 行计数器所在的 long 的下标
+     *
+     * @param hash
+     * @param i
+     * @return
+     */
+    private int indexOf(int hash, int i) {
+        long h = (SEEDS[i] + hash) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    /**
+     * 估计 key 的访问频率
+     *
+     * @param key
+     * @return [0, 15]
+     */
+    int frequency(int key) {
+        int hash = spread(key), start = (hash & 3) << 2, freq = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int count = (int) ((table[indexOf(hash, i)] >>> ((start + i) << 2)) & 0xfL);
+            freq = Math.min(freq, count);
+        }
+        return freq;
+    }
+
+    /**
+     * 记录一次访问，4 个计数器各 +1（已满的不变）
+     *
+     * @param key
+     */
+    void increment(int key) {
+        int hash = spread(key), start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * @param i 第 i 个 long
+     * @param j 其中第 j 个计数器
+     * @return 是否递增成功
+     */
+    private boolean incrementAt(int i, int j) {
+        int offset = j << 2;
+        long mask = 0xfL << offset;
+        if ((table[i] & mask) != mask) {
+            table[i] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 所有计数器减半，奇数计数器减半时的截断误差从 size 中扣除
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (odd >>> 2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ywh.ds.cache;
+
+/**
+ * int key -> 槽位下标的开放寻址哈希索引，供数组实现的缓存使用
+ *
+ * 索引表只存放槽位下标 +1（0 表示空），key 本身存放在缓存的 keys 数组中，比较时回查。
+ * 线性探测，删除时把后续同一探测链上的元素向前移动（backward shift），不使用墓碑，查找长度不会随删除退化。
+ * 表长为不小于 2 倍容量的 2 的幂，装载因子不超过 0.5。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+final class IntHashIndex {
+
+    private final int[] table;
+
+    private final int mask;
+
+    /**
+     * 缓存的 key 数组，keys[slot] 为槽位 slot 的 key
+     */
+    private final int[] keys;
+
+    /**
+     * @param capacity 最大元素个数
+     * @param keys
+     */
+    IntHashIndex(int capacity, int[] keys) {
+        int len = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+        this.table = new int[len];
+        this.mask = len - 1;
+        this.keys = keys;
+    }
+
+    private int indexFor(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @param key
+     * @return 槽位下标，不存在时返回 -1
+     */
+    int get(int key) {
+        for (int i = indexFor(key); table[i] != 0; i = (i + 1) & mask) {
+            if (keys[table[i] - 1] == key) {
+                return table[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 插入 key（调用方保证 key 不存在，且 keys[slot] 已写入 key）
+     *
+     * @param key
+     * @param slot
+     */
+    void put(int key, int slot) {
+        int i = indexFor(key);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    /**
+     * 删除 key（调用前 keys 中仍须保存该 key）
+     *
+     * @param key
+     */
+    void remove(int key) {
+        int i = indexFor(key);
+        while (table[i] != 0 && keys[table[i] - 1] != key) {
+            i = (i + 1) & mask;
+        }
+        if (table[i] == 0) {
+            return;
+        }
+        // backward shift：空位 i 之后的元素，若其理想位置不在 (i, j] 区间内，则移动到 i
+        for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int k = indexFor(keys[table[j] - 1]);
+            if (i <= j ? (k <= i || k > j) : (k <= i && k > j)) {
+                table[i] = table[j];
+                i = j;
+            }
+        }
+        table[i] = 0;
+    }
+}
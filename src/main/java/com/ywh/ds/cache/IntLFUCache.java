@@ -0,0 +1,219 @@
+package com.ywh.ds.cache;
+
+import java.util.Arrays;
+
+/**
+ * int -> int 的 LFU 缓存，数组实现
+ *
+ * LFUCache 每个元素对应一个 Node 和一个装箱的 HashMap 条目，每个频率还对应一个 LinkedList，LinkedList.remove(node) 为 O(n)。
+ * 这里用平行数组和槽位下标实现频率桶链表：
+ * 1. 元素：keys、vals、prev、next、bucket，prev、next 把同一频率的元素串成双向链表（头部最近使用），bucket 为所在桶的下标；
+ * 2. 频率桶：freqs、first、last、bucketPrev、bucketNext，按频率升序串成双向链表，minBucket 为频率最低的桶；
+ *    空闲的桶通过 bucketNext 串成空闲链表，访问时从空闲链表取出、桶空时归还；
+ * 3. 访问时把元素移到频率 +1 的桶（不存在则在当前桶之后插入一个），淘汰时移除频率最低的桶中最久未使用的元素。
+ * 所有数组在构造时按容量分配，get、put 不再分配任何对象。
+ *
+ * 与 LFUCache 一致，未命中返回 -1。
+ * Time: O(1), Space: O(n)
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class IntLFUCache {
+
+    private static final int NIL = -1;
+
+    private final int capacity;
+
+    private final int[] keys, vals, prev, next, bucket;
+
+    private final int[] freqs, first, last, bucketPrev, bucketNext;
+
+    private final IntHashIndex index;
+
+    private int minBucket = NIL, freeBucket;
+
+    private int size;
+
+    /**
+     * @param capacity
+     */
+    public IntLFUCache(int capacity) {
+        if (capacity < 0 || capacity > IntLRUCache.MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be in [0, " + IntLRUCache.MAX_CAPACITY + "]");
+        }
+        this.capacity = capacity;
+        this.keys = new int[capacity];
+        this.vals = new int[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.bucket = new int[capacity];
+        this.index = new IntHashIndex(capacity, keys);
+
+        // 非空桶最多 capacity 个，访问时先分配新桶再释放旧桶，多留一个
+        int buckets = capacity + 1;
+        this.freqs = new int[buckets];
+        this.first = new int[buckets];
+        this.last = new int[buckets];
+        this.bucketPrev = new int[buckets];
+        this.bucketNext = new int[buckets];
+        for (int i = 0; i < buckets; i++) {
+            bucketNext[i] = i + 1 < buckets ? i + 1 : NIL;
+        }
+        Arrays.fill(bucketPrev, NIL);
+        this.freeBucket = 0;
+    }
+
+    /**
+     * 获取元素，命中时频率 +1
+     *
+     * @param key
+     * @return
+     */
+    public int get(int key) {
+        int slot = index.get(key);
+        if (slot == NIL) {
+            return -1;
+        }
+        touch(slot);
+        return vals[slot];
+    }
+
+    /**
+     * 添加元素，已满时复用频率最低的桶中最久未使用的元素的槽位
+     *
+     * @param key
+     * @param value
+     */
+    public void put(int key, int value) {
+        if (capacity == 0) {
+            return;
+        }
+        int slot = index.get(key);
+        if (slot != NIL) {
+            vals[slot] = value;
+            touch(slot);
+            return;
+        }
+        if (size == capacity) {
+            slot = last[minBucket];
+            index.remove(keys[slot]);
+            removeFromBucket(slot);
+        } else {
+            slot = size++;
+        }
+        keys[slot] = key;
+        vals[slot] = value;
+        index.put(key, slot);
+
+        // 新元素频率为 1，放入最低的桶（不存在时在桶链表头部新建）
+        int b = minBucket;
+        if (b == NIL || freqs[b] != 1) {
+            b = allocateBucket(1, NIL);
+        }
+        addToBucket(slot, b);
+    }
+
+    /**
+     * 当前元素个数
+     *
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 把元素移到频率 +1 的桶
+     *
+     * @param slot
+     */
+    private void touch(int slot) {
+        int b = bucket[slot], freq = freqs[b], nb = bucketNext[b];
+        if (nb == NIL || freqs[nb] != freq + 1) {
+            nb = allocateBucket(freq + 1, b);
+        }
+        removeFromBucket(slot);
+        addToBucket(slot, nb);
+    }
+
+    /**
+     * 从空闲链表取出一个桶，插入到桶 after 之后（after 为 NIL 时插入到头部）
+     *
+     * @param freq
+     * @param after
+     * @return
+     */
+    private int allocateBucket(int freq, int after) {
+        int b = freeBucket;
+        freeBucket = bucketNext[b];
+        freqs[b] = freq;
+        first[b] = last[b] = NIL;
+        bucketPrev[b] = after;
+        if (after == NIL) {
+            bucketNext[b] = minBucket;
+            minBucket = b;
+        } else {
+            bucketNext[b] = bucketNext[after];
+            bucketNext[after] = b;
+        }
+        if (bucketNext[b] != NIL) {
+            bucketPrev[bucketNext[b]] = b;
+        }
+        return b;
+    }
+
+    /**
+     * 把空桶从桶链表中移除，归还到空闲链表
+     *
+     * @param b
+     */
+    private void freeBucket(int b) {
+        int p = bucketPrev[b], n = bucketNext[b];
+        if (p != NIL) {
+            bucketNext[p] = n;
+        } else {
+            minBucket = n;
+        }
+        if (n != NIL) {
+            bucketPrev[n] = p;
+        }
+        bucketPrev[b] = NIL;
+        bucketNext[b] = freeBucket;
+        freeBucket = b;
+    }
+
+    private void addToBucket(int slot, int b) {
+        bucket[slot] = b;
+        prev[slot] = NIL;
+        next[slot] = first[b];
+        if (first[b] != NIL) {
+            prev[first[b]] = slot;
+        } else {
+            last[b] = slot;
+        }
+        first[b] = slot;
+    }
+
+    /**
+     * 从所在桶中移除元素，桶空时释放
+     *
+     * @param slot
+     */
+    private void removeFromBucket(int slot) {
+        int b = bucket[slot], p = prev[slot], n = next[slot];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            first[b] = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        } else {
+            last[b] = p;
+        }
+        if (first[b] == NIL) {
+            freeBucket(b);
+        }
+    }
+}
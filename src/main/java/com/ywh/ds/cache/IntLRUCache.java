@@ -0,0 +1,141 @@
+package com.ywh.ds.cache;
+
+import java.util.Arrays;
+
+/**
+ * int -> int 的 LRU 缓存，数组实现
+ *
+ * LRUCache 每个元素对应一个 DoublyListNode 和一个装箱的 HashMap 条目，元素多时对象头、指针和 GC 扫描占了大部分开销。
+ * 这里每个元素只占平行数组中的一个槽位：keys、vals 存键值，prev、next 存槽位下标构成双向链表，
+ * 哈希表为 IntHashIndex（开放寻址，key -> 槽位下标）。所有数组在构造时按容量分配，get、put 不再分配任何对象。
+ *
+ * 与 LRUCache 一致，未命中返回 -1。
+ * Time: O(1), Space: O(n)
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class IntLRUCache {
+
+    /**
+     * 最大容量，保证 IntHashIndex 的表长不溢出
+     */
+    static final int MAX_CAPACITY = 1 << 29;
+
+    private static final int NIL = -1;
+
+    private final int capacity;
+
+    private final int[] keys, vals, prev, next;
+
+    private final IntHashIndex index;
+
+    /**
+     * head 最近使用，tail 最久未使用
+     */
+    private int head = NIL, tail = NIL;
+
+    private int size;
+
+    /**
+     * @param capacity
+     */
+    public IntLRUCache(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be in [0, " + MAX_CAPACITY + "]");
+        }
+        this.capacity = capacity;
+        this.keys = new int[capacity];
+        this.vals = new int[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.index = new IntHashIndex(capacity, keys);
+        Arrays.fill(prev, NIL);
+        Arrays.fill(next, NIL);
+    }
+
+    /**
+     * 获取元素，命中时移到链表头部
+     *
+     * @param key
+     * @return
+     */
+    public int get(int key) {
+        int slot = index.get(key);
+        if (slot == NIL) {
+            return -1;
+        }
+        moveToHead(slot);
+        return vals[slot];
+    }
+
+    /**
+     * 添加元素，已满时复用链表尾部（最久未使用）的槽位
+     *
+     * @param key
+     * @param value
+     */
+    public void put(int key, int value) {
+        if (capacity == 0) {
+            return;
+        }
+        int slot = index.get(key);
+        if (slot != NIL) {
+            vals[slot] = value;
+            moveToHead(slot);
+            return;
+        }
+        if (size == capacity) {
+            slot = tail;
+            index.remove(keys[slot]);
+            unlink(slot);
+        } else {
+            slot = size++;
+        }
+        keys[slot] = key;
+        vals[slot] = value;
+        index.put(key, slot);
+        addToHead(slot);
+    }
+
+    /**
+     * 当前元素个数
+     *
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    private void addToHead(int slot) {
+        prev[slot] = NIL;
+        next[slot] = head;
+        if (head != NIL) {
+            prev[head] = slot;
+        } else {
+            tail = slot;
+        }
+        head = slot;
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot], n = next[slot];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            head = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        } else {
+            tail = p;
+        }
+    }
+
+    private void moveToHead(int slot) {
+        if (slot != head) {
+            unlink(slot);
+            addToHead(slot);
+        }
+    }
+}
@@ -11,7 +11,7 @@ import java.util.Map;
  *
  * @since 4/12/2021
  */
-class LFUCache {
+public class LFUCache {
 
     /**
      * 最低访问频率、容量。
@@ -30,6 +30,11 @@ class LFUCache {
      */
     Map<Integer, LinkedList<Node>> freqTable;
 
+    /**
+     * 统计记录器，为 null 表示关闭统计
+     */
+    private StatsCounter stats;
+
     /**
      *
      * @param capacity
@@ -49,8 +54,14 @@ class LFUCache {
      */
     public int get(int key) {
         if (capacity == 0 || !keyTable.containsKey(key)) {
+            if (stats != null) {
+                stats.recordMisses(1);
+            }
             return -1;
         }
+        if (stats != null) {
+            stats.recordHits(1);
+        }
         // 从 key 表中取出节点并更新使用频率。
         Node node = keyTable.get(key);
         updateNode(node, node.val);
@@ -82,6 +93,9 @@ class LFUCache {
                 if (freqTable.get(minfreq).size() == 0) {
                     freqTable.remove(minfreq);
                 }
+                if (stats != null) {
+                    stats.recordEviction();
+                }
             }
             minfreq = 1;
             addNode(new Node(key, value, 1));
@@ -128,6 +142,38 @@ class LFUCache {
     }
 
 
+    /**
+     * 开启或关闭统计，关闭后再开启时计数从零开始
+     *
+     * @param enabled
+     */
+    public void setStatsEnabled(boolean enabled) {
+        if (!enabled) {
+            stats = null;
+        } else if (stats == null) {
+            stats = new StatsCounter();
+        }
+    }
+
+    /**
+     * 统计记录器，可用于注册 MBean，关闭统计时返回 null
+     *
+     * @return
+     */
+    public StatsCounter statsCounter() {
+        return stats;
+    }
+
+    /**
+     * 统计快照，关闭统计时返回 CacheStats.EMPTY
+     *
+     * @return
+     */
+    public CacheStats stats() {
+        StatsCounter s = stats;
+        return s == null ? CacheStats.EMPTY : s.snapshot();
+    }
+
     /**
      * 带访问频率的缓存节点
      */
@@ -29,6 +29,13 @@ public class LRUCache {
 
     private final Map<Integer, DoublyListNode> map;
 
+    private final int capacity;
+
+    /**
+     * 统计记录器，为 null 表示关闭统计
+     */
+    private StatsCounter stats;
+
     /**
      * 辅助方法，把节点移动到头节点的后面，表示最近刚被使用。
      *
@@ -62,6 +69,7 @@ public class LRUCache {
     public LRUCache(int capacity) {
         head = new DoublyListNode();
         map = new HashMap<>();
+        this.capacity = capacity;
         DoublyListNode node = head;
         // 尾插法创建容量 -1 个节点（因为 head 本身也用于存放数据）。
         for (int i = 0; i < capacity - 1; i++) {
@@ -81,8 +89,14 @@ public class LRUCache {
      */
     public int get(int key) {
         if (!map.containsKey(key)) {
+            if (stats != null) {
+                stats.recordMisses(1);
+            }
             return -1;
         }
+        if (stats != null) {
+            stats.recordHits(1);
+        }
         DoublyListNode node = map.get(key);
         moveToHeadNext(node);
         return node.val;
@@ -100,10 +114,16 @@ public class LRUCache {
         if (map.containsKey(key)) {
             node = map.get(key);
         }
-        // 哈希表中不存在该 key，则取头节点来存放新元素（哈希表中要移除头节点的旧值）。
+        // 哈希表中不存在该 key，则取头节点来存放新元素。
+        // 未满时头节点是尚未使用过的预分配节点，其 key 为默认值，不能从哈希表中移除；已满时才淘汰头节点的旧值。
         else {
             node = head;
-            map.remove(head.key);
+            if (map.size() == capacity) {
+                map.remove(head.key);
+                if (stats != null) {
+                    stats.recordEviction();
+                }
+            }
         }
         // 设值，添加到哈希表，并移动到头部。
         node.key = key;
@@ -111,4 +131,36 @@ public class LRUCache {
         map.put(key, node);
         moveToHeadNext(node);
     }
+
+    /**
+     * 开启或关闭统计，关闭后再开启时计数从零开始
+     *
+     * @param enabled
+     */
+    public void setStatsEnabled(boolean enabled) {
+        if (!enabled) {
+            stats = null;
+        } else if (stats == null) {
+            stats = new StatsCounter();
+        }
+    }
+
+    /**
+     * 统计记录器，可用于注册 MBean，关闭统计时返回 null
+     *
+     * @return
+     */
+    public StatsCounter statsCounter() {
+        return stats;
+    }
+
+    /**
+     * 统计快照，关闭统计时返回 CacheStats.EMPTY
+     *
+     * @return
+     */
+    public CacheStats stats() {
+        StatsCounter s = stats;
+        return s == null ? CacheStats.EMPTY : s.snapshot();
+    }
 }
@@ -0,0 +1,249 @@
+package com.ywh.ds.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 泛型 LFU 缓存，频率桶双向链表实现
+ *
+ * LFUCache 用 HashMap<Integer, LinkedList<Node>> 按频率分组，LinkedList.remove(node) 需要遍历链表，桶中元素多时退化为 O(n)。
+ * 这里把链表指针直接放在节点中（侵入式链表）：
+ * 1. 频率桶按频率升序串成双向链表，head 为频率最低的桶；
+ * 2. 每个桶内的节点串成双向链表，头部最近使用，尾部最久未使用；
+ * 3. 访问时把节点移到频率 +1 的桶（即下一个桶，不存在则新建），旧桶空了就摘除；淘汰时移除 head 桶的尾部节点。
+ * get、put、淘汰都是 O(1)。非线程安全，并发访问使用 StripedLFUCache。
+ *
+ * Time: O(1), Space: O(n)
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class LinkedLFUCache<K, V> {
+
+    private final int capacity;
+
+    private final Map<K, Node<K, V>> map;
+
+    /**
+     * 频率最低的桶
+     */
+    private Bucket<K, V> head;
+
+    /**
+     * @param capacity
+     */
+    public LinkedLFUCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be non-negative");
+        }
+        this.capacity = capacity;
+        this.map = new HashMap<>((int) Math.ceil(capacity / 0.75) + 1);
+    }
+
+    /**
+     * 获取元素，命中时频率 +1
+     *
+     * @param key
+     * @return 不存在时返回 null
+     */
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        touch(node);
+        return node.value;
+    }
+
+    /**
+     * 添加元素，已满时淘汰频率最低的元素中最久未使用的一个
+     *
+     * @param key
+     * @param value
+     * @return 旧值
+     */
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        if (capacity == 0) {
+            return null;
+        }
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            V old = node.value;
+            node.value = value;
+            touch(node);
+            return old;
+        }
+        if (map.size() == capacity) {
+            Node<K, V> eldest = head.last;
+            map.remove(eldest.key);
+            unlink(eldest);
+        }
+        node = new Node<>(key, value);
+        map.put(key, node);
+        Bucket<K, V> bucket = head;
+        if (bucket == null || bucket.freq != 1) {
+            bucket = new Bucket<>(1);
+            linkBucket(bucket, null);
+        }
+        link(node, bucket);
+        return null;
+    }
+
+    /**
+     * @param key
+     * @return 旧值
+     */
+    public V remove(K key) {
+        Node<K, V> node = map.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    /**
+     * 当前元素个数
+     *
+     * @return
+     */
+    public int size() {
+        return map.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 把节点移到频率 +1 的桶
+     *
+     * @param node
+     */
+    private void touch(Node<K, V> node) {
+        Bucket<K, V> bucket = node.bucket, next = bucket.next;
+        if (next == null || next.freq != bucket.freq + 1) {
+            next = new Bucket<>(bucket.freq + 1);
+            linkBucket(next, bucket);
+        }
+        unlink(node);
+        link(node, next);
+    }
+
+    /**
+     * 把节点插入到桶的头部
+     *
+     * @param node
+     * @param bucket
+     */
+    private void link(Node<K, V> node, Bucket<K, V> bucket) {
+        node.bucket = bucket;
+        node.prev = null;
+        node.next = bucket.first;
+        if (bucket.first != null) {
+            bucket.first.prev = node;
+        } else {
+            bucket.last = node;
+        }
+        bucket.first = node;
+    }
+
+    /**
+     * 把节点从所在桶中摘除，桶空时一并摘除桶
+     *
+     * @param node
+     */
+    private void unlink(Node<K, V> node) {
+        Bucket<K, V> bucket = node.bucket;
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            bucket.first = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            bucket.last = node.prev;
+        }
+        node.prev = node.next = null;
+        if (bucket.first == null) {
+            unlinkBucket(bucket);
+        }
+    }
+
+    /**
+     * 把桶插入到 after 之后，after 为 null 时插入到头部
+     *
+     * @param bucket
+     * @param after
+     */
+    private void linkBucket(Bucket<K, V> bucket, Bucket<K, V> after) {
+        bucket.prev = after;
+        if (after == null) {
+            bucket.next = head;
+            head = bucket;
+        } else {
+            bucket.next = after.next;
+            after.next = bucket;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket;
+        }
+    }
+
+    private void unlinkBucket(Bucket<K, V> bucket) {
+        if (bucket.prev != null) {
+            bucket.prev.next = bucket.next;
+        } else {
+            head = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        }
+        bucket.prev = bucket.next = null;
+    }
+
+    /**
+     * 缓存节点，prev、next 为同一桶内的相邻节点
+     *
+     * @param <K>
+     * @param <V>
+     */
+    private static final class Node<K, V> {
+
+        final K key;
+
+        V value;
+
+        Bucket<K, V> bucket;
+
+        Node<K, V> prev, next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 频率桶，prev、next 为频率相邻的桶
+     *
+     * @param <K>
+     * @param <V>
+     */
+    private static final class Bucket<K, V> {
+
+        final long freq;
+
+        Node<K, V> first, last;
+
+        Bucket<K, V> prev, next;
+
+        Bucket(long freq) {
+            this.freq = freq;
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.ywh.ds.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 堆外 LRU 缓存：值经序列化后存放在堆外内存中，堆上只保留索引
+ *
+ * 值为序列化后的大块数据时，放在堆上会让老年代持续膨胀、拉长 G1 停顿。这里采用 slab 分配（与 memcached 相同）：
+ * 1. 内存按页（默认 1MB）分配，页是 ByteBuffer.allocateDirect 的直接缓冲区，或文件的 MappedByteBuffer 映射区域；
+ * 2. 按块大小分为若干 slab 类，块大小从 64 字节起按 1.25 倍递增直到页大小；值放入能容纳它的最小块，
+ *    页首次分配给某个类时整页切成该类的块；
+ * 3. 每个 slab 类维护空闲块栈和 LRU 链表。类中没有空闲块且页已用完时，淘汰该类中最久未使用的元素，复用其块；
+ * 4. 该类没有元素可淘汰（页都已分给了其他类）时，从页最多的类回收一页：淘汰那个类最久未使用的元素所在页上的全部元素，
+ *    整页重新切成本类的块。否则访问模式变化后，新出现的值大小会因为拿不到页而永远写入失败（slab 钙化）。
+ * 因此淘汰顺序是各 slab 类内部的 LRU 顺序。堆上每个元素只有一个索引节点（key、块地址、长度、链表指针），
+ * 堆外内存总量由 maxBytes 限制，不随元素增多而占用堆。
+ *
+ * 线程安全，所有操作持有同一把锁（get 也要调整 LRU 链表）。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class OffHeapLRUCache<K, V> implements Closeable {
+
+    /**
+     * 序列化器：把值写入堆外缓冲区、从堆外缓冲区读出
+     *
+     * @param <T>
+     */
+    public interface Serializer<T> {
+
+        /**
+         * 序列化后的字节数
+         *
+         * @param value
+         * @return
+         */
+        int size(T value);
+
+        /**
+         * 写入 dst，dst 的 position 为起点，剩余空间恰为 size(value)
+         *
+         * @param value
+         * @param dst
+         */
+        void write(T value, ByteBuffer dst);
+
+        /**
+         * 从 src 读出值，src 的剩余部分恰为写入的内容；src 指向的内存之后可能被复用，返回值不能引用它
+         *
+         * @param src
+         * @return
+         */
+        T read(ByteBuffer src);
+
+        Serializer<byte[]> BYTES = new Serializer<byte[]>() {
+            @Override
+            public int size(byte[] value) {
+                return value.length;
+            }
+
+            @Override
+            public void write(byte[] value, ByteBuffer dst) {
+                dst.put(value);
+            }
+
+            @Override
+            public byte[] read(ByteBuffer src) {
+                byte[] value = new byte[src.remaining()];
+                src.get(value);
+                return value;
+            }
+        };
+
+        Serializer<String> UTF_8 = new Serializer<String>() {
+            @Override
+            public int size(String value) {
+                int size = 0;
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c < 0x80) {
+                        size++;
+                    } else if (c < 0x800) {
+                        size += 2;
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        size += 4;
+                        i++;
+                    } else if (Character.isSurrogate(c)) {
+                        // 不成对的代理字符编码为 '?'
+                        size++;
+                    } else {
+                        size += 3;
+                    }
+                }
+                return size;
+            }
+
+            @Override
+            public void write(String value, ByteBuffer dst) {
+                dst.put(value.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String read(ByteBuffer src) {
+                return StandardCharsets.UTF_8.decode(src).toString();
+            }
+        };
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 1 << 20;
+
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private static final double GROWTH_FACTOR = 1.25;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<K, Entry<K>> map = new HashMap<>();
+
+    private final Serializer<V> serializer;
+
+    private final int pageSize;
+
+    private final ByteBuffer[] pages;
+
+    private int pageCount;
+
+    private final SlabClass<K>[] classes;
+
+    /**
+     * 文件映射模式下的文件，直接内存模式为 null
+     */
+    private final FileChannel channel;
+
+    /**
+     * 使用直接内存
+     *
+     * @param maxBytes   堆外内存上限
+     * @param serializer
+     */
+    public OffHeapLRUCache(long maxBytes, Serializer<V> serializer) throws IOException {
+        this(maxBytes, DEFAULT_PAGE_SIZE, serializer, null);
+    }
+
+    /**
+     * @param maxBytes   堆外内存上限，向下取整到页大小的倍数
+     * @param pageSize   页大小，也是单个值的最大字节数
+     * @param serializer
+     * @param file       不为 null 时页映射自该文件（会被截断重建），否则使用直接内存
+     * @throws IOException
+     */
+    @SuppressWarnings("unchecked")
+    public OffHeapLRUCache(long maxBytes, int pageSize, Serializer<V> serializer, Path file) throws IOException {
+        if (pageSize < MIN_CHUNK_SIZE || maxBytes < pageSize || maxBytes / pageSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("pageSize must be at least " + MIN_CHUNK_SIZE + " and maxBytes in [pageSize, pageSize * 2^31)");
+        }
+        this.serializer = serializer;
+        this.pageSize = pageSize;
+        this.pages = new ByteBuffer[(int) (maxBytes / pageSize)];
+        this.channel = file == null ? null : FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+
+        int n = 0;
+        int[] sizes = new int[64];
+        for (double size = MIN_CHUNK_SIZE; ; size *= GROWTH_FACTOR) {
+            // 块大小按 8 字节对齐，最后一个类的块大小为整页
+            int chunk = Math.min(((int) size + 7) & ~7, pageSize);
+            if (n == 0 || chunk > sizes[n - 1]) {
+                sizes = n == sizes.length ? Arrays.copyOf(sizes, n << 1) : sizes;
+                sizes[n++] = chunk;
+            }
+            if (chunk == pageSize) {
+                break;
+            }
+        }
+        this.classes = (SlabClass<K>[]) new SlabClass<?>[n];
+        for (int i = 0; i < n; i++) {
+            classes[i] = new SlabClass<>(sizes[i]);
+        }
+    }
+
+    /**
+     * @param key
+     * @return 不存在时返回 null
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<K> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            SlabClass<K> cls = classes[entry.cls];
+            cls.unlink(entry);
+            cls.addFirst(entry);
+            return serializer.read(slice(entry.address, entry.length));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param key
+     * @param value
+     * @return 是否写入成功：分配不到块时返回 false，旧值保留
+     * @throws IOException 文件映射模式下映射新页失败
+     */
+    public boolean put(K key, V value) throws IOException {
+        int length = serializer.size(value);
+        if (length > pageSize) {
+            throw new IllegalArgumentException("value of " + length + " bytes exceeds page size " + pageSize);
+        }
+        lock.lock();
+        try {
+            int c = classFor(length);
+            long address = allocate(c);
+            if (address < 0) {
+                return false;
+            }
+            try {
+                serializer.write(value, slice(address, length));
+            } catch (RuntimeException e) {
+                classes[c].push(address);
+                throw e;
+            }
+            // 写入成功后再释放旧值；分配时旧值可能已被淘汰
+            Entry<K> old = map.get(key);
+            if (old != null) {
+                free(old);
+            }
+            Entry<K> entry = new Entry<>(key, c, address, length);
+            classes[c].addFirst(entry);
+            map.put(key, entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param key
+     * @return 是否存在
+     */
+    public boolean remove(K key) {
+        lock.lock();
+        try {
+            Entry<K> entry = map.remove(key);
+            if (entry == null) {
+                return false;
+            }
+            free(entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前元素个数
+     *
+     * @return
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 已分配的堆外内存字节数
+     *
+     * @return
+     */
+    public long allocatedBytes() {
+        lock.lock();
+        try {
+            return (long) pageCount * pageSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空缓存，释放对所有页的引用（直接内存随缓冲区被回收而释放），关闭映射文件
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            map.clear();
+            Arrays.fill(pages, 0, pageCount, null);
+            pageCount = 0;
+            for (int i = 0; i < classes.length; i++) {
+                classes[i] = new SlabClass<>(classes[i].chunkSize);
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 能容纳 length 字节的最小 slab 类
+     *
+     * @param length
+     * @return
+     */
+    private int classFor(int length) {
+        int low = 0, high = classes.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (classes[mid].chunkSize < length) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 分配一个块：优先取空闲块，其次分配新页，再次淘汰该类最久未使用的元素，最后从其他类回收一页
+     *
+     * @param c
+     * @return 块地址（页号 << 32 | 页内偏移），失败返回 -1
+     * @throws IOException
+     */
+    private long allocate(int c) throws IOException {
+        SlabClass<K> cls = classes[c];
+        if (cls.freeCount > 0) {
+            return cls.free[--cls.freeCount];
+        }
+        if (pageCount < pages.length) {
+            int page = pageCount;
+            pages[page] = channel == null
+                ? ByteBuffer.allocateDirect(pageSize)
+                : channel.map(FileChannel.MapMode.READ_WRITE, (long) page * pageSize, pageSize);
+            pageCount++;
+            return carve(page, c);
+        }
+        Entry<K> eldest = cls.tail;
+        if (eldest != null) {
+            map.remove(eldest.key);
+            cls.unlink(eldest);
+            return eldest.address;
+        }
+        int page = reassignPage(c);
+        return page < 0 ? -1 : carve(page, c);
+    }
+
+    /**
+     * 整页切成 c 类的块，第一块直接返回，其余放入空闲栈
+     *
+     * @param page
+     * @param c
+     * @return
+     */
+    private long carve(int page, int c) {
+        SlabClass<K> cls = classes[c];
+        cls.pages++;
+        for (int offset = (pageSize / cls.chunkSize - 1) * cls.chunkSize; offset > 0; offset -= cls.chunkSize) {
+            cls.push(address(page, offset));
+        }
+        return address(page, 0);
+    }
+
+    /**
+     * 从页最多的其他类回收一页：选它最久未使用的元素所在的页（没有元素时选一个空闲块所在的页），
+     * 淘汰该页上的全部元素，并从空闲栈中去掉该页的块
+     *
+     * @param c 需要页的类
+     * @return 页号，没有可回收的页时返回 -1
+     */
+    private int reassignPage(int c) {
+        int victim = -1;
+        for (int i = 0; i < classes.length; i++) {
+            if (i != c && classes[i].pages > 0 && (victim < 0 || classes[i].pages > classes[victim].pages)) {
+                victim = i;
+            }
+        }
+        if (victim < 0) {
+            return -1;
+        }
+        SlabClass<K> cls = classes[victim];
+        long anchor = cls.tail != null ? cls.tail.address : cls.free[cls.freeCount - 1];
+        int page = (int) (anchor >>> 32);
+        for (Entry<K> entry = cls.head; entry != null; ) {
+            Entry<K> next = entry.next;
+            if ((int) (entry.address >>> 32) == page) {
+                map.remove(entry.key);
+                cls.unlink(entry);
+            }
+            entry = next;
+        }
+        int n = 0;
+        for (int i = 0; i < cls.freeCount; i++) {
+            if ((int) (cls.free[i] >>> 32) != page) {
+                cls.free[n++] = cls.free[i];
+            }
+        }
+        cls.freeCount = n;
+        cls.pages--;
+        return page;
+    }
+
+    private void free(Entry<K> entry) {
+        SlabClass<K> cls = classes[entry.cls];
+        cls.unlink(entry);
+        cls.push(entry.address);
+    }
+
+    private static long address(int page, int offset) {
+        return (long) page << 32 | offset;
+    }
+
+    /**
+     * 块对应的缓冲区视图，position 为块起点，limit 为起点 + length
+     *
+     * @param address
+     * @param length
+     * @return
+     */
+    private ByteBuffer slice(long address, int length) {
+        ByteBuffer buf = pages[(int) (address >>> 32)].duplicate();
+        int offset = (int) address;
+        buf.limit(offset + length).position(offset);
+        return buf;
+    }
+
+    /**
+     * 堆上的索引节点
+     *
+     * @param <K>
+     */
+    private static final class Entry<K> {
+
+        final K key;
+
+        final int cls, length;
+
+        final long address;
+
+        Entry<K> prev, next;
+
+        Entry(K key, int cls, long address, int length) {
+            this.key = key;
+            this.cls = cls;
+            this.address = address;
+            this.length = length;
+        }
+    }
+
+    /**
+     * slab 类：块大小、空闲块栈、LRU 链表（head 最近使用，tail 最久未使用）
+     *
+     * @param <K>
+     */
+    private static final class SlabClass<K> {
+
+        final int chunkSize;
+
+        /**
+         * 分给该类的页数
+         */
+        int pages;
+
+        long[] free = new long[16];
+
+        int freeCount;
+
+        Entry<K> head, tail;
+
+        SlabClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        void push(long address) {
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount << 1);
+            }
+            free[freeCount++] = address;
+        }
+
+        void addFirst(Entry<K> entry) {
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            } else {
+                tail = entry;
+            }
+            head = entry;
+        }
+
+        void unlink(Entry<K> entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            } else {
+                tail = entry.prev;
+            }
+            entry.prev = entry.next = null;
+        }
+    }
+}
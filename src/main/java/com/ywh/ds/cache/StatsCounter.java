@@ -0,0 +1,181 @@
+package com.ywh.ds.cache;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存统计记录器：命中、未命中、淘汰、加载次数与耗时
+ *
+ * 计数器均为 LongAdder，多线程并发记录时各自累加到不同的 cell，不争用同一个缓存行。
+ * 缓存持有 StatsCounter 引用，关闭统计时引用为 null，热路径上只多一次判空，不调用 System.nanoTime。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public final class StatsCounter implements CacheStatsMXBean {
+
+    /**
+     * 加载耗时直方图的桶数，按耗时（纳秒）的二进制位数分桶
+     */
+    static final int HISTOGRAM_BUCKETS = 64;
+
+    private final LongAdder hitCount = new LongAdder(), missCount = new LongAdder(), evictionCount = new LongAdder();
+
+    private final LongAdder loadSuccessCount = new LongAdder(), loadFailureCount = new LongAdder(), totalLoadTime = new LongAdder();
+
+    private final LongAdder[] loadLatencyHistogram = new LongAdder[HISTOGRAM_BUCKETS];
+
+    public StatsCounter() {
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            loadLatencyHistogram[i] = new LongAdder();
+        }
+    }
+
+    public void recordHits(int count) {
+        hitCount.add(count);
+    }
+
+    public void recordMisses(int count) {
+        missCount.add(count);
+    }
+
+    public void recordEviction() {
+        evictionCount.increment();
+    }
+
+    /**
+     * @param loadTime 加载耗时（纳秒）
+     */
+    public void recordLoadSuccess(long loadTime) {
+        loadSuccessCount.increment();
+        recordLoadTime(loadTime);
+    }
+
+    /**
+     * @param loadTime 加载耗时（纳秒）
+     */
+    public void recordLoadFailure(long loadTime) {
+        loadFailureCount.increment();
+        recordLoadTime(loadTime);
+    }
+
+    private void recordLoadTime(long loadTime) {
+        loadTime = Math.max(loadTime, 0);
+        totalLoadTime.add(loadTime);
+        loadLatencyHistogram[Math.min(64 - Long.numberOfLeadingZeros(loadTime), HISTOGRAM_BUCKETS - 1)].increment();
+    }
+
+    /**
+     * 当前计数的快照（并发记录时各计数之间不保证一致）
+     *
+     * @return
+     */
+    public CacheStats snapshot() {
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            histogram[i] = loadLatencyHistogram[i].sum();
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), loadSuccessCount.sum(),
+            loadFailureCount.sum(), totalLoadTime.sum(), histogram);
+    }
+
+    /**
+     * 注册到平台 MBeanServer，ObjectName 为 com.ywh.ds.cache:type=CacheStats,name={name}
+     *
+     * @param name
+     * @return
+     * @throws JMException 名称不合法或已被注册
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = objectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * @param name
+     * @throws JMException
+     */
+    public void unregisterMBean(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = objectName(name);
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("com.ywh.ds.cache:type=CacheStats,name=" + ObjectName.quote(name));
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        return snapshot().hitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return loadSuccessCount.sum();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return loadFailureCount.sum();
+    }
+
+    @Override
+    public long getTotalLoadTime() {
+        return totalLoadTime.sum();
+    }
+
+    @Override
+    public double getAverageLoadPenalty() {
+        return snapshot().averageLoadPenalty();
+    }
+
+    @Override
+    public long getLoadLatencyP50() {
+        return snapshot().loadLatencyPercentile(50);
+    }
+
+    @Override
+    public long getLoadLatencyP99() {
+        return snapshot().loadLatencyPercentile(99);
+    }
+
+    @Override
+    public long getLoadLatencyP999() {
+        return snapshot().loadLatencyPercentile(99.9);
+    }
+
+    @Override
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+        loadSuccessCount.reset();
+        loadFailureCount.reset();
+        totalLoadTime.reset();
+        for (LongAdder adder : loadLatencyHistogram) {
+            adder.reset();
+        }
+    }
+}
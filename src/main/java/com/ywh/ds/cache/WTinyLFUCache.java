@@ -0,0 +1,192 @@
+package com.ywh.ds.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * W-TinyLFU 缓存
+ *
+ * LRU 对扫描（一次性访问大量冷数据）敏感，LFU 对访问模式变化不敏感（过去的热点长期占据缓存），W-TinyLFU 结合二者：
+ * 1. 窗口区（约 1% 容量）：纯 LRU，新元素先进入这里，吸收突发的新访问；
+ * 2. 主区（其余容量）：分段 LRU，分为试用段（约 20%）和保护段（约 80%），试用段中的元素再次命中时晋升到保护段，
+ *    保护段溢出时把最久未使用的元素降级回试用段；
+ * 3. 准入过滤：窗口区溢出时，被挤出的候选元素与试用段最久未使用的元素（受害者）比较频率草图估计的访问频率，
+ *    频率高者留下，低者被淘汰。频率草图定期减半，使频率反映的是近期的访问情况。
+ *
+ * 与 LRUCache、LFUCache 一致，key、value 为 int，未命中返回 -1。
+ * Time: O(1), Space: O(n)
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class WTinyLFUCache {
+
+    private static final int WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+
+    private final int capacity, maxWindow, maxProtected;
+
+    private final Map<Integer, Node> map;
+
+    private final FrequencySketch sketch;
+
+    /**
+     * 三个区各一条带哨兵的双向链表：head.next 最近使用，head.prev 最久未使用
+     */
+    private final Node[] heads = {new Node(), new Node(), new Node()};
+
+    private final int[] sizes = new int[3];
+
+    /**
+     * @param capacity
+     */
+    public WTinyLFUCache(int capacity) {
+        this(capacity, 0.01);
+    }
+
+    /**
+     * @param capacity      最大元素个数
+     * @param windowPercent 窗口区占容量的比例，(0, 1)
+     */
+    public WTinyLFUCache(int capacity, double windowPercent) {
+        if (capacity < 0 || !(windowPercent > 0 && windowPercent < 1)) {
+            throw new IllegalArgumentException("capacity must be non-negative and windowPercent in (0, 1)");
+        }
+        this.capacity = capacity;
+        this.maxWindow = Math.min(capacity, Math.max(1, (int) (capacity * windowPercent)));
+        this.maxProtected = (int) ((capacity - maxWindow) * 0.8);
+        this.map = new HashMap<>();
+        this.sketch = new FrequencySketch(capacity);
+        for (Node head : heads) {
+            head.prev = head.next = head;
+        }
+    }
+
+    /**
+     * 获取元素，无论是否命中都计入访问频率
+     *
+     * @param key
+     * @return
+     */
+    public int get(int key) {
+        if (capacity == 0) {
+            return -1;
+        }
+        sketch.increment(key);
+        Node node = map.get(key);
+        if (node == null) {
+            return -1;
+        }
+        onHit(node);
+        return node.val;
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param key
+     * @param value
+     */
+    public void put(int key, int value) {
+        if (capacity == 0) {
+            return;
+        }
+        Node node = map.get(key);
+        if (node != null) {
+            node.val = value;
+            onHit(node);
+            return;
+        }
+        sketch.increment(key);
+        node = new Node(key, value);
+        map.put(key, node);
+        addFirst(WINDOW, node);
+        evict();
+    }
+
+    /**
+     * 当前元素个数
+     *
+     * @return
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * 命中：窗口区内移到头部；试用段晋升到保护段；保护段内移到头部
+     *
+     * @param node
+     */
+    private void onHit(Node node) {
+        unlink(node);
+        if (node.region == PROBATION) {
+            addFirst(PROTECTED, node);
+            // 保护段溢出，最久未使用的降级到试用段
+            if (sizes[PROTECTED] > maxProtected) {
+                Node demoted = heads[PROTECTED].prev;
+                unlink(demoted);
+                addFirst(PROBATION, demoted);
+            }
+        } else {
+            addFirst(node.region, node);
+        }
+    }
+
+    /**
+     * 窗口区溢出时把最久未使用的元素移入试用段作为候选，总数超出容量时候选与受害者比较频率，淘汰低者
+     */
+    private void evict() {
+        if (sizes[WINDOW] <= maxWindow) {
+            return;
+        }
+        Node candidate = heads[WINDOW].prev;
+        unlink(candidate);
+        addFirst(PROBATION, candidate);
+        if (map.size() <= capacity) {
+            return;
+        }
+        Node victim = heads[PROBATION].prev;
+        if (victim == candidate) {
+            // 试用段只有候选（容量很小时），从保护段选受害者
+            victim = sizes[PROTECTED] > 0 ? heads[PROTECTED].prev : candidate;
+        }
+        // 频率相同时淘汰候选，保护已在主区的元素免受扫描冲刷
+        Node evicted = sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+        unlink(evicted);
+        map.remove(evicted.key);
+    }
+
+    private void addFirst(int region, Node node) {
+        Node head = heads[region];
+        node.region = region;
+        node.prev = head;
+        node.next = head.next;
+        head.next.prev = node;
+        head.next = node;
+        sizes[region]++;
+    }
+
+    private void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null;
+        sizes[node.region]--;
+    }
+
+    /**
+     * 带所在区域的缓存节点
+     */
+    private static class Node {
+        int key, val, region;
+
+        Node prev, next;
+
+        Node() {
+        }
+
+        Node(int key, int val) {
+            this.key = key;
+            this.val = val;
+        }
+    }
+}
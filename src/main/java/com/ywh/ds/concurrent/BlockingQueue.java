@@ -1,6 +1,8 @@
 package com.ywh.ds.concurrent;
 
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -8,6 +10,8 @@ import java.util.concurrent.locks.ReentrantLock;
 /**
  * 阻塞队列
  *
+ * 批量操作（drainTo、offerAll）每批只加锁一次、通知一次；取出顺序与 poll 相同。
+ *
  * @author ywh
  * @since 4/8/2021
  */
@@ -73,4 +77,130 @@ public class BlockingQueue<T> {
             lock.unlock();
         }
     }
+
+    /**
+     * 入队，队满时最多等待 timeout
+     *
+     * @param val
+     * @param timeout
+     * @param unit
+     * @return 是否入队
+     * @throws InterruptedException
+     */
+    public boolean offer(T val, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() == size) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            queue.addLast(val);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 出队，队空时最多等待 timeout
+     *
+     * @param timeout
+     * @param unit
+     * @return 超时返回 null
+     * @throws InterruptedException
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            T val = queue.removeLast();
+            notFull.signal();
+            return val;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 不等待，取出最多 max 个元素放入 c
+     *
+     * 整批只加锁一次；取出多个元素时腾出多个空位，用 signalAll 一次唤醒所有等待入队的线程。
+     *
+     * @param c
+     * @param max
+     * @return 取出的元素个数
+     */
+    public int drainTo(Collection<? super T> c, int max) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (max <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            int n = Math.min(max, queue.size());
+            for (int i = 0; i < n; i++) {
+                c.add(queue.removeLast());
+            }
+            if (n > 0) {
+                notFull.signalAll();
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 不等待，按迭代顺序放入 c 中的元素，直到队满
+     *
+     * 整批只加锁一次，放入后用 signalAll 一次唤醒所有等待出队的线程。
+     *
+     * @param c
+     * @return 放入的元素个数
+     */
+    public int offerAll(Collection<? extends T> c) {
+        lock.lock();
+        try {
+            int n = 0;
+            for (T val : c) {
+                if (queue.size() == size) {
+                    break;
+                }
+                queue.addLast(val);
+                n++;
+            }
+            if (n > 0) {
+                notEmpty.signalAll();
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前元素个数
+     *
+     * @return
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
 }
@@ -0,0 +1,464 @@
+package com.ywh.ds.concurrent;
+
+import java.io.Closeable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 有界对象池
+ *
+ * ObjectPool 每次借出、归还都要复制整个 CopyOnWriteArrayList，且所有槽位放的是同一个对象。这里：
+ * 1. 最多 maxSize 个槽位，对象由 factory 按需创建，每个槽位一个独立对象；
+ * 2. 每个槽位有一个状态（空、空闲、借出、保留），借出、归还都是对状态的一次 CAS，不加锁；
+ * 3. 空闲和空的槽位下标放在一个无锁栈（Treiber stack）中，借出时弹出栈顶，O(1)，不扫描槽位。栈顶是最近归还的槽位，
+ *    常用的对象被反复借出，不常用的对象沉在栈底保持空闲，便于按空闲时间回收；
+ * 4. 用 Semaphore 限制同时借出的个数：拿到许可的线程一定能从栈中拿到空闲或空的槽位；限时借出超时返回 null；
+ * 5. 借出前用 validator 校验，不通过则销毁并在同一槽位重新创建；evictIdle 销毁空闲超过 idleTimeout 的对象。
+ *
+ * 全程不使用 synchronized（Semaphore 基于 AQS，等待时 park），虚拟线程等待时不会占住载体线程。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class BoundedObjectPool<T> implements Closeable {
+
+    private static final int EMPTY = 0, IDLE = 1, IN_USE = 2, RESERVED = 3;
+
+    private final Supplier<T> factory;
+
+    private final Predicate<T> validator;
+
+    private final Consumer<T> destroyer;
+
+    private final long idleTimeoutNanos;
+
+    private final Object[] objects;
+
+    private final AtomicIntegerArray states;
+
+    /**
+     * 各槽位最近一次归还的时间，在状态置为 IDLE 之前写入
+     */
+    private final long[] lastReturned;
+
+    private final Semaphore permits;
+
+    /**
+     * 无锁栈：next 为各槽位的下一个槽位，top 高 32 位为版本号（每次修改加一，避免 ABA），低 32 位为栈顶槽位，-1 表示空栈。
+     * 槽位出栈后归弹出它的线程所有，只有它能再把槽位压回栈中；evictIdle、close 只修改栈中空闲槽位的状态，不动栈。
+     */
+    private final AtomicIntegerArray next;
+
+    private final AtomicLong top = new AtomicLong(-1 & 0xFFFFFFFFL);
+
+    private volatile boolean closed = false;
+
+    /**
+     * @param maxSize
+     * @param factory
+     */
+    public BoundedObjectPool(int maxSize, Supplier<T> factory) {
+        this(maxSize, factory, obj -> true, obj -> {
+        }, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param maxSize     最大对象个数
+     * @param factory     创建对象
+     * @param validator   借出前校验，返回 false 的对象被销毁
+     * @param destroyer   销毁对象
+     * @param idleTimeout 空闲超时，不大于 0 表示不回收
+     * @param unit
+     */
+    public BoundedObjectPool(int maxSize, Supplier<T> factory, Predicate<T> validator, Consumer<T> destroyer,
+                             long idleTimeout, TimeUnit unit) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (factory == null || validator == null || destroyer == null) {
+            throw new IllegalArgumentException("factory, validator and destroyer must not be null");
+        }
+        this.factory = factory;
+        this.validator = validator;
+        this.destroyer = destroyer;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.objects = new Object[maxSize];
+        this.states = new AtomicIntegerArray(maxSize);
+        this.lastReturned = new long[maxSize];
+        this.permits = new Semaphore(maxSize);
+        this.next = new AtomicIntegerArray(maxSize);
+        for (int i = maxSize - 1; i >= 0; i--) {
+            push(i);
+        }
+    }
+
+    /**
+     * 借出对象，池中对象都已借出时等待
+     *
+     * @return
+     * @throws InterruptedException
+     */
+    public Pooled<T> borrow() throws InterruptedException {
+        ensureOpen();
+        permits.acquire();
+        return acquireSlotIfOpen();
+    }
+
+    /**
+     * 限时借出
+     *
+     * @param timeout
+     * @param unit
+     * @return 超时返回 null
+     * @throws InterruptedException
+     */
+    public Pooled<T> borrow(long timeout, TimeUnit unit) throws InterruptedException {
+        ensureOpen();
+        if (!permits.tryAcquire(timeout, unit)) {
+            return null;
+        }
+        return acquireSlotIfOpen();
+    }
+
+    /**
+     * 借出对象调用 func，结束后归还
+     *
+     * @param func
+     * @param <R>
+     * @return
+     * @throws InterruptedException
+     */
+    public <R> R exec(Function<T, R> func) throws InterruptedException {
+        try (Pooled<T> pooled = borrow()) {
+            return func.apply(pooled.get());
+        }
+    }
+
+    /**
+     * 销毁空闲超过 idleTimeout 的对象
+     *
+     * @return 销毁的个数
+     */
+    public int evictIdle() {
+        if (idleTimeoutNanos <= 0) {
+            return 0;
+        }
+        int evicted = 0;
+        long now = System.nanoTime();
+        for (int i = 0; i < objects.length; i++) {
+            if (states.get(i) != IDLE || now - lastReturned[i] <= idleTimeoutNanos) {
+                continue;
+            }
+            // 占用一个许可，保证借出线程仍能找到空闲或空的槽位
+            if (!permits.tryAcquire()) {
+                break;
+            }
+            try {
+                if (states.compareAndSet(i, IDLE, RESERVED)) {
+                    destroy(i);
+                    evicted++;
+                }
+            } finally {
+                permits.release();
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 已创建的对象个数
+     *
+     * @return
+     */
+    public int size() {
+        int n = 0;
+        for (int i = 0; i < objects.length; i++) {
+            int state = states.get(i);
+            if (state == IDLE || state == IN_USE) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 空闲的对象个数
+     *
+     * @return
+     */
+    public int idle() {
+        int n = 0;
+        for (int i = 0; i < objects.length; i++) {
+            if (states.get(i) == IDLE) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    public int maxSize() {
+        return objects.length;
+    }
+
+    /**
+     * 关闭对象池：销毁空闲对象，借出中的对象在归还时销毁，之后不能再借出
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (int i = 0; i < objects.length; i++) {
+            if (states.compareAndSet(i, IDLE, RESERVED)) {
+                destroy(i);
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("pool is closed");
+        }
+    }
+
+    /**
+     * 已持有许可：等待许可期间对象池可能已关闭，此时交还许可
+     *
+     * @return
+     */
+    private Pooled<T> acquireSlotIfOpen() {
+        if (closed) {
+            permits.release();
+            throw new IllegalStateException("pool is closed");
+        }
+        return acquireSlot();
+    }
+
+    /**
+     * 已持有许可，从栈中弹出一个槽位借出：空闲则复用其对象，空则创建。
+     * 栈外的槽位数不超过已发出的许可数，因此栈中总有槽位；弹出落空或弹出的槽位正被 evictIdle 销毁，
+     * 只是因为与其他线程交错，压回（若已弹出）后重试即可。
+     *
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private Pooled<T> acquireSlot() {
+        try {
+            for (; ; ) {
+                int i = pop();
+                if (i < 0) {
+                    Thread.yield();
+                    continue;
+                }
+                if (states.compareAndSet(i, IDLE, IN_USE)) {
+                    T obj = (T) objects[i];
+                    boolean valid;
+                    try {
+                        valid = validator.test(obj);
+                    } catch (RuntimeException | Error e) {
+                        states.set(i, RESERVED);
+                        destroyAndPush(i);
+                        throw e;
+                    }
+                    if (valid) {
+                        return new Pooled<>(this, i, obj);
+                    }
+                    // 槽位不在栈中，销毁后直接重新创建，其他线程不会在这期间占用它
+                    states.set(i, RESERVED);
+                    try {
+                        destroyObject(i);
+                    } catch (RuntimeException | Error e) {
+                        states.set(i, EMPTY);
+                        push(i);
+                        throw e;
+                    }
+                    return create(i);
+                }
+                if (states.compareAndSet(i, EMPTY, RESERVED)) {
+                    return create(i);
+                }
+                push(i);
+                Thread.yield();
+            }
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 弹出栈顶槽位
+     *
+     * @return 空栈返回 -1
+     */
+    private int pop() {
+        for (; ; ) {
+            long t = top.get();
+            int i = (int) t;
+            if (i < 0) {
+                return -1;
+            }
+            long updated = ((t >>> 32) + 1) << 32 | (next.get(i) & 0xFFFFFFFFL);
+            if (top.compareAndSet(t, updated)) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * 压入槽位，调用方必须持有该槽位（已弹出或从未入栈）
+     *
+     * @param i
+     */
+    private void push(int i) {
+        for (; ; ) {
+            long t = top.get();
+            next.set(i, (int) t);
+            if (top.compareAndSet(t, ((t >>> 32) + 1) << 32 | i)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 在保留的槽位上创建对象，创建失败则恢复为空槽位并压回栈中
+     *
+     * @param i
+     * @return
+     */
+    private Pooled<T> create(int i) {
+        T obj;
+        try {
+            obj = factory.get();
+        } catch (RuntimeException | Error e) {
+            states.set(i, EMPTY);
+            push(i);
+            throw e;
+        }
+        if (obj == null) {
+            states.set(i, EMPTY);
+            push(i);
+            throw new NullPointerException("factory returned null");
+        }
+        objects[i] = obj;
+        states.set(i, IN_USE);
+        return new Pooled<>(this, i, obj);
+    }
+
+    /**
+     * 销毁保留的槽位上的对象，并置为空槽位
+     *
+     * @param i
+     */
+    private void destroy(int i) {
+        try {
+            destroyObject(i);
+        } finally {
+            states.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * 销毁栈外保留的槽位上的对象，并把空槽位压回栈中
+     *
+     * @param i
+     */
+    private void destroyAndPush(int i) {
+        try {
+            destroy(i);
+        } finally {
+            push(i);
+        }
+    }
+
+    /**
+     * 销毁保留的槽位上的对象，槽位仍为保留状态
+     *
+     * @param i
+     */
+    @SuppressWarnings("unchecked")
+    private void destroyObject(int i) {
+        T obj = (T) objects[i];
+        objects[i] = null;
+        destroyer.accept(obj);
+    }
+
+    /**
+     * 归还或销毁，由 Pooled 保证每次借出只调用一次
+     *
+     * @param i
+     * @param invalid
+     */
+    private void release(int i, boolean invalid) {
+        try {
+            if (invalid || closed) {
+                states.set(i, RESERVED);
+                destroyAndPush(i);
+            } else {
+                lastReturned[i] = System.nanoTime();
+                states.set(i, IDLE);
+                push(i);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 一次借出，每次借出新建一个。用完后调用 close 归还，或调用 invalidate 销毁；
+     * 只有第一次 close / invalidate 生效，之后的调用不做任何事，不会影响槽位的下一次借出。
+     *
+     * @param <T>
+     */
+    public static final class Pooled<T> implements AutoCloseable {
+
+        private final BoundedObjectPool<T> pool;
+
+        private final int index;
+
+        private final T obj;
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Pooled(BoundedObjectPool<T> pool, int index, T obj) {
+            this.pool = pool;
+            this.index = index;
+            this.obj = obj;
+        }
+
+        /**
+         * @return
+         * @throws IllegalStateException 已归还
+         */
+        public T get() {
+            if (released.get()) {
+                throw new IllegalStateException("object has been returned");
+            }
+            return obj;
+        }
+
+        /**
+         * 对象已不可用（如连接断开），销毁而不是归还
+         */
+        public void invalidate() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(index, true);
+            }
+        }
+
+        /**
+         * 归还
+         */
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(index, false);
+            }
+        }
+    }
+}
@@ -1,63 +1,295 @@
 package com.ywh.ds.concurrent;
 
+import com.ywh.ds.cache.CacheStats;
+import com.ywh.ds.cache.StatsCounter;
+
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.*;
+import java.util.function.Function;
 
 /**
- * 基于信号量实现缓存
+ * 基于读写锁实现缓存
+ *
+ * 加载：get(key, loader) 未命中时在锁外调用 loader，同一个 key 的并发未命中通过 loading 中的 future 共享一次加载（single-flight），
+ * 不同 key 的加载互不阻塞。
+ * 过期：expireAfterWrite / expireAfterAccess 到期的元素视为未命中；refreshAfterWrite 到期的元素先返回旧值，同时异步重新加载。
+ * 统计：setStatsEnabled(true) 后记录命中、未命中、淘汰（含过期）和加载耗时，见 StatsCounter。
  *
  * @author ywh
  * @since 4/8/2021
  */
 public class Cache<K, V> {
 
-    private final LRUMap<K, V> map;
+    private final LRUMap<K, Entry<V>> map;
 
     private final ReadWriteLock rwl = new ReentrantReadWriteLock();
 
     private final Lock r = rwl.readLock(), w = rwl.writeLock();
 
+    /**
+     * 正在加载（或刷新）的 key
+     */
+    private final ConcurrentHashMap<K, Loading<V>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 写入后过期、访问后过期、写入后刷新的时间（纳秒），0 表示不启用
+     */
+    private final long expireAfterWriteNanos, expireAfterAccessNanos, refreshAfterWriteNanos;
+
+    /**
+     * 异步刷新使用的线程池
+     */
+    private final Executor refreshExecutor;
+
+    /**
+     * 统计记录器，为 null 表示关闭统计
+     */
+    private volatile StatsCounter stats;
+
     /**
      * @param size
      */
     public Cache(int size) {
-        this.map = new LRUMap<>(size);
+        this(size, 0, 0, 0, TimeUnit.NANOSECONDS, ForkJoinPool.commonPool());
     }
 
     /**
-     * 读缓存
+     * @param size
+     * @param expireAfterWrite  写入后经过该时间过期，0 表示不启用
+     * @param expireAfterAccess 最后一次访问后经过该时间过期，0 表示不启用
+     * @param refreshAfterWrite 写入后经过该时间，下一次 get(key, loader) 命中时异步刷新，0 表示不启用
+     * @param unit
+     * @param refreshExecutor
+     */
+    public Cache(int size, long expireAfterWrite, long expireAfterAccess, long refreshAfterWrite, TimeUnit unit,
+                 Executor refreshExecutor) {
+        if (expireAfterWrite < 0 || expireAfterAccess < 0 || refreshAfterWrite < 0) {
+            throw new IllegalArgumentException("durations must be non-negative");
+        }
+        this.map = new LRUMap<K, Entry<V>>(size) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                boolean evict = super.removeEldestEntry(eldest);
+                StatsCounter s = stats;
+                if (evict && s != null) {
+                    s.recordEviction();
+                }
+                return evict;
+            }
+        };
+        this.expireAfterWriteNanos = unit.toNanos(expireAfterWrite);
+        this.expireAfterAccessNanos = unit.toNanos(expireAfterAccess);
+        this.refreshAfterWriteNanos = unit.toNanos(refreshAfterWrite);
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * 查找未过期的元素
+     *
+     * LinkedHashMap 按访问顺序排列时 get 会调整链表，属于写操作，必须持有写锁；已过期的元素顺便删除。
      *
      * @param key
+     * @param now
      * @return
      */
-    public V get(K key) {
-        V v;
-        // 读缓存
-        r.lock();
+    private Entry<V> lookup(K key, long now) {
+        w.lock();
         try {
-            v = map.get(key);
+            Entry<V> e = map.get(key);
+            if (e == null) {
+                return null;
+            }
+            if (isExpired(e, now)) {
+                map.remove(key);
+                StatsCounter s = stats;
+                if (s != null) {
+                    s.recordEviction();
+                }
+                return null;
+            }
+            e.accessTime = now;
+            return e;
         } finally {
-            r.unlock();
+            w.unlock();
         }
-        // 缓存中存在，返回。
-        if (v != null) {
+    }
+
+    private boolean isExpired(Entry<V> e, long now) {
+        return expireAfterWriteNanos > 0 && now - e.writeTime >= expireAfterWriteNanos
+            || expireAfterAccessNanos > 0 && now - e.accessTime >= expireAfterAccessNanos;
+    }
+
+    /**
+     * 读缓存，不存在或已过期时返回 null
+     *
+     * @param key
+     * @return
+     */
+    public V get(K key) {
+        Entry<V> e = lookup(key, System.nanoTime());
+        recordAccess(e != null);
+        return e == null ? null : e.value;
+    }
+
+    private void recordAccess(boolean hit) {
+        StatsCounter s = stats;
+        if (s != null) {
+            if (hit) {
+                s.recordHits(1);
+            } else {
+                s.recordMisses(1);
+            }
+        }
+    }
+
+    /**
+     * 调用 loader 并记录加载耗时
+     *
+     * @param key
+     * @param loader
+     * @return
+     */
+    private V load(K key, Function<? super K, ? extends V> loader) {
+        StatsCounter s = stats;
+        if (s == null) {
+            return loader.apply(key);
+        }
+        long start = System.nanoTime();
+        try {
+            V v = loader.apply(key);
+            s.recordLoadSuccess(System.nanoTime() - start);
             return v;
+        } catch (Throwable t) {
+            s.recordLoadFailure(System.nanoTime() - start);
+            throw t;
         }
+    }
 
-        // 缓存中不存在，查询数据库。
-        w.lock();
+    /**
+     * 读缓存，未命中时调用 loader 加载并写入缓存
+     *
+     * 同一个 key 同时只有一个线程调用 loader，其他线程等待它的结果（loader 抛出的异常同样传给所有等待者）；
+     * loader 在锁外执行，慢加载不阻塞其他 key 的读写。loader 返回 null 时不写入缓存。
+     *
+     * @param key
+     * @param loader
+     * @return
+     * @throws IllegalStateException loader 加载 key 时又读取同一个 key（等待自己的加载会永远阻塞）
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = System.nanoTime();
+        Entry<V> e = lookup(key, now);
+        recordAccess(e != null);
+        if (e != null) {
+            if (refreshAfterWriteNanos > 0 && now - e.writeTime >= refreshAfterWriteNanos) {
+                refresh(key, loader, e);
+            }
+            return e.value;
+        }
+
+        Loading<V> future = new Loading<>(Thread.currentThread()), existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            if (existing.owner == Thread.currentThread()) {
+                throw new IllegalStateException("recursive load");
+            }
+            return join(existing);
+        }
         try {
-            // 再次验证：其他线程可能已经查询过数据库
-            v = map.get(key);
-            if (v == null) {
-                // 省略查询数据库，更新缓存。
-                map.put(key, v);
+            // 再次验证：其他线程可能刚加载完成并移除了 future
+            e = lookup(key, System.nanoTime());
+            V v = e != null ? e.value : load(key, loader);
+            if (e == null && v != null) {
+                put(key, v);
             }
+            future.complete(v);
+            return v;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            // 先写缓存再移除 future，之后到达的线程要么命中缓存，要么等待 future
+            loading.remove(key, future);
+        }
+    }
+
+    /**
+     * 异步刷新：已有加载或刷新时跳过，刷新失败保留旧值。
+     * 刷新期间该 key 被重新写入（或过期后重新加载）时，刷新结果已经过时，丢弃。
+     *
+     * @param key
+     * @param loader
+     * @param stale  触发刷新的元素
+     */
+    private void refresh(K key, Function<? super K, ? extends V> loader, Entry<V> stale) {
+        Loading<V> future = new Loading<>(null);
+        if (loading.putIfAbsent(key, future) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                future.owner = Thread.currentThread();
+                try {
+                    V v = load(key, loader);
+                    if (v != null) {
+                        replace(key, stale, v);
+                    }
+                    future.complete(v);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    loading.remove(key, future);
+                }
+            });
+        } catch (Throwable t) {
+            // 线程池拒绝
+            loading.remove(key, future);
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * key 对应的元素仍是 expected 时才写入 value
+     *
+     * @param key
+     * @param expected
+     * @param value
+     * @return
+     */
+    private boolean replace(K key, Entry<V> expected, V value) {
+        w.lock();
+        try {
+            return map.replace(key, expected, new Entry<>(value, System.nanoTime()));
         } finally {
             w.unlock();
         }
-        return v;
+    }
+
+    /**
+     * 等待其他线程的加载结果，异常原样抛出
+     *
+     * @param future
+     * @return
+     */
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
     }
 
     /**
@@ -68,12 +300,46 @@ public class Cache<K, V> {
      * @return
      */
     public V put(K key, V value) {
+        Entry<V> old;
         w.lock();
         try {
-            return map.put(key, value);
+            old = map.put(key, new Entry<>(value, System.nanoTime()));
         } finally {
             w.unlock();
         }
+        return old == null ? null : old.value;
+    }
+
+    /**
+     * 开启或关闭统计，关闭后再开启时计数从零开始
+     *
+     * @param enabled
+     */
+    public void setStatsEnabled(boolean enabled) {
+        if (!enabled) {
+            stats = null;
+        } else if (stats == null) {
+            stats = new StatsCounter();
+        }
+    }
+
+    /**
+     * 统计记录器，可用于注册 MBean，关闭统计时返回 null
+     *
+     * @return
+     */
+    public StatsCounter statsCounter() {
+        return stats;
+    }
+
+    /**
+     * 统计快照，关闭统计时返回 CacheStats.EMPTY
+     *
+     * @return
+     */
+    public CacheStats stats() {
+        StatsCounter s = stats;
+        return s == null ? CacheStats.EMPTY : s.snapshot();
     }
 
     /**
@@ -114,6 +380,40 @@ public class Cache<K, V> {
         }
     }
 
+    /**
+     * 正在进行的加载，记录执行 loader 的线程，用于发现 loader 递归读取同一个 key
+     *
+     * @param <V>
+     */
+    private static final class Loading<V> extends CompletableFuture<V> {
+
+        volatile Thread owner;
+
+        Loading(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * 缓存元素及其写入、访问时间
+     *
+     * @param <V>
+     */
+    private static final class Entry<V> {
+
+        final V value;
+
+        final long writeTime;
+
+        volatile long accessTime;
+
+        Entry(V value, long now) {
+            this.value = value;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
     /**
      * @param <K>
      * @param <V>
@@ -132,7 +432,7 @@ public class Cache<K, V> {
          * @return
          */
         @Override
-        protected boolean removeEldestEntry(Map.Entry eldest) {
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
             return size() > MAX_CACHE_SIZE;
         }
     }
@@ -0,0 +1,211 @@
+package com.ywh.ds.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 有界无锁多生产者多消费者队列（Dmitry Vyukov 的 bounded MPMC queue）
+ *
+ * BlockingQueue 用一把锁保护 LinkedList，每个元素分配一个节点，生产者与消费者相互串行。这里：
+ * 1. 元素存放在容量为 2 的幂的数组中，不分配节点；
+ * 2. 每个槽位有一个序号：序号 == 位置 表示可写，序号 == 位置 + 1 表示可读。生产者 CAS tail 抢占位置后写入元素，
+ *    再把序号设为位置 + 1 发布；消费者 CAS head 抢占位置后取出元素，再把序号设为位置 + 容量，留给下一圈的生产者；
+ * 3. 生产者只竞争 tail，消费者只竞争 head，二者分别填充到独立的缓存行，避免伪共享；
+ * 4. offer / poll 不阻塞，put / take 及限时版本在满（或空）时按 WaitStrategy 等待。
+ *
+ * 与 java.util.concurrent 一致：offer / poll 立即返回，put / take 阻塞；不允许 null 元素。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class MpmcArrayQueue<T> {
+
+    private final Object[] buffer;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    /**
+     * 下一个写入位置、下一个读取位置
+     */
+    private final PaddedSequence tail = new PaddedSequence(0), head = new PaddedSequence(0);
+
+    private final WaitStrategy waitStrategy;
+
+    private final BooleanSupplier notFull = () -> !isFull(), notEmpty = () -> !isEmpty();
+
+    /**
+     * @param capacity
+     */
+    public MpmcArrayQueue(int capacity) {
+        this(capacity, WaitStrategy.parking());
+    }
+
+    /**
+     * @param capacity     容量，向上取 2 的幂
+     * @param waitStrategy
+     */
+    public MpmcArrayQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in (0, 2^30]");
+        }
+        int n = capacity == 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[n];
+        this.sequences = new AtomicLongArray(n);
+        for (int i = 0; i < n; i++) {
+            sequences.lazySet(i, i);
+        }
+        this.mask = n - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * 入队，队满时返回 false
+     *
+     * @param val
+     * @return
+     */
+    public boolean offer(T val) {
+        if (val == null) {
+            throw new NullPointerException();
+        }
+        long pos = tail.get();
+        for (; ; ) {
+            int idx = (int) pos & mask;
+            long diff = sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[idx] = val;
+                    sequences.lazySet(idx, pos + 1);
+                    waitStrategy.signalAll();
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // 该槽位上一圈的元素还未被取走
+                return false;
+            } else {
+                // 其他生产者已抢占该位置
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 出队，队空时返回 null
+     *
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long pos = head.get();
+        for (; ; ) {
+            int idx = (int) pos & mask;
+            long diff = sequences.get(idx) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    T val = (T) buffer[idx];
+                    buffer[idx] = null;
+                    sequences.lazySet(idx, pos + mask + 1);
+                    waitStrategy.signalAll();
+                    return val;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                // 该槽位本圈的元素还未发布
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * 入队，队满时等待
+     *
+     * @param val
+     * @throws InterruptedException
+     */
+    public void put(T val) throws InterruptedException {
+        while (!offer(val)) {
+            waitStrategy.await(notFull, false, 0);
+        }
+    }
+
+    /**
+     * 入队，队满时最多等待 timeout
+     *
+     * @param val
+     * @param timeout
+     * @param unit
+     * @return 是否入队
+     * @throws InterruptedException
+     */
+    public boolean offer(T val, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!offer(val)) {
+            if (!waitStrategy.await(notFull, true, deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 出队，队空时等待
+     *
+     * @return
+     * @throws InterruptedException
+     */
+    public T take() throws InterruptedException {
+        T val;
+        while ((val = poll()) == null) {
+            waitStrategy.await(notEmpty, false, 0);
+        }
+        return val;
+    }
+
+    /**
+     * 出队，队空时最多等待 timeout
+     *
+     * @param timeout
+     * @param unit
+     * @return 超时返回 null
+     * @throws InterruptedException
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        T val;
+        while ((val = poll()) == null) {
+            if (!waitStrategy.await(notEmpty, true, deadline)) {
+                return null;
+            }
+        }
+        return val;
+    }
+
+    /**
+     * 元素个数（并发修改时为近似值）
+     *
+     * @return
+     */
+    public int size() {
+        // 先读 head 再读 tail，保证 tail >= head
+        long h = head.get(), t = tail.get();
+        return (int) Math.max(0, Math.min(t - h, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    private boolean isFull() {
+        return tail.get() - head.get() >= capacity();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
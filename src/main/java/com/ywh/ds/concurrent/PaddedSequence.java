@@ -0,0 +1,52 @@
+package com.ywh.ds.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 前后各填充 7 个 long 的计数器，独占一个缓存行，避免与相邻的计数器伪共享
+ *
+ * JVM 会把子类字段排在父类字段之后，利用继承关系固定填充字段与 value 的相对位置（Java 8 没有可用的 @Contended）。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+final class PaddedSequence extends SequenceValue {
+
+    protected long p9, p10, p11, p12, p13, p14, p15;
+
+    PaddedSequence(long initial) {
+        value = initial;
+    }
+
+    long get() {
+        return value;
+    }
+
+    void set(long v) {
+        value = v;
+    }
+
+    /**
+     * 有序写（release），不保证对后续读的可见性顺序，开销低于 volatile 写
+     *
+     * @param v
+     */
+    void lazySet(long v) {
+        UPDATER.lazySet(this, v);
+    }
+
+    boolean compareAndSet(long expect, long update) {
+        return UPDATER.compareAndSet(this, expect, update);
+    }
+}
+
+abstract class SequenceLhsPadding {
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends SequenceLhsPadding {
+
+    protected volatile long value;
+
+    static final AtomicLongFieldUpdater<SequenceValue> UPDATER = AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "value");
+}
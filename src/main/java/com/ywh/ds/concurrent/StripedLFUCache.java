@@ -0,0 +1,147 @@
+package com.ywh.ds.concurrent;
+
+import com.ywh.ds.cache.LinkedLFUCache;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段 LFU 缓存
+ *
+ * 按 key 的哈希把数据分到多个段，每段是一个 LinkedLFUCache，由一把锁保护，容量按段精确分配，总元素个数不会超过 capacity。
+ * LFU 的读也要修改频率桶，无法像 StripedLRUCache 那样缓冲后回放（丢失访问记录会直接改变淘汰结果），因此读写都加段锁，
+ * 不同段之间互不阻塞。淘汰在段内进行，结果是各段 LFU 的近似。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class StripedLFUCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+
+    private final int segmentShift;
+
+    private final int capacity;
+
+    /**
+     * @param capacity
+     */
+    public StripedLFUCache(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param capacity         最大元素个数
+     * @param concurrencyLevel 期望的并发线程数，决定分段数（向上取 2 的幂，且不超过 capacity）
+     */
+    @SuppressWarnings("unchecked")
+    public StripedLFUCache(int capacity, int concurrencyLevel) {
+        if (capacity <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("capacity and concurrencyLevel must be positive");
+        }
+        int n = 1;
+        while (n < concurrencyLevel && n < (1 << 16)) {
+            n <<= 1;
+        }
+        n = Math.min(n, Integer.highestOneBit(capacity));
+        this.capacity = capacity;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(n);
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[n];
+        for (int i = 0; i < n; i++) {
+            segments[i] = new Segment<>(capacity / n + (i < capacity % n ? 1 : 0));
+        }
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return segmentShift == 32 ? segments[0] : segments[h >>> segmentShift];
+    }
+
+    /**
+     * @param key
+     * @return
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock();
+        try {
+            return segment.cache.get(key);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * @param key
+     * @param value
+     * @return 旧值
+     */
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock();
+        try {
+            return segment.cache.put(key, value);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * @param key
+     * @return 旧值
+     */
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock();
+        try {
+            return segment.cache.remove(key);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * 当前元素个数（各段之和，并发修改时为近似值）
+     *
+     * @return
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count();
+        }
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 段：一个 LinkedLFUCache 和保护它的锁
+     *
+     * @param <K>
+     * @param <V>
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LinkedLFUCache<K, V> cache;
+
+        Segment(int capacity) {
+            this.cache = new LinkedLFUCache<>(capacity);
+        }
+
+        int count() {
+            lock();
+            try {
+                return cache.size();
+            } finally {
+                unlock();
+            }
+        }
+    }
+}
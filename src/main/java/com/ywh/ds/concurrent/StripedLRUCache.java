@@ -0,0 +1,298 @@
+package com.ywh.ds.concurrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段 LRU 缓存
+ *
+ * Cache 用一把读写锁保护 access-order 的 LinkedHashMap，但 LinkedHashMap.get 会调整链表，读锁下并不安全，且所有未命中都在写锁上串行。
+ * 这里按 key 的哈希把数据分到多个段，每段独立加锁、独立维护 LRU 链表，容量按段精确分配，总元素个数不会超过 capacity：
+ * 1. 读：段内 ConcurrentHashMap 无锁查找，把访问过的节点写入段的环形读缓冲区（满了直接覆盖，丢失的只是最近访问的提示），不加锁；
+ * 2. 写：加段锁，先把读缓冲区中的访问记录回放到 LRU 链表，再插入、更新并按需淘汰链表尾部；
+ * 3. 读缓冲区写满一半时尝试（tryLock，不阻塞）回放一次。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class StripedLRUCache<K, V> {
+
+    /**
+     * 读缓冲区大小（2 的幂）
+     */
+    private static final int READ_BUFFER_SIZE = 64, READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    /**
+     * 每记录这么多次访问尝试回放一次
+     */
+    private static final int DRAIN_THRESHOLD_MASK = (READ_BUFFER_SIZE >> 1) - 1;
+
+    private final Segment<K, V>[] segments;
+
+    private final int segmentShift;
+
+    private final int capacity;
+
+    /**
+     * @param capacity
+     */
+    public StripedLRUCache(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param capacity         最大元素个数
+     * @param concurrencyLevel 期望的并发写线程数，决定分段数（向上取 2 的幂，且不超过 capacity）
+     */
+    @SuppressWarnings("unchecked")
+    public StripedLRUCache(int capacity, int concurrencyLevel) {
+        if (capacity <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("capacity and concurrencyLevel must be positive");
+        }
+        int n = 1;
+        while (n < concurrencyLevel && n < (1 << 16)) {
+            n <<= 1;
+        }
+        n = Math.min(n, Integer.highestOneBit(capacity));
+        this.capacity = capacity;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(n);
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[n];
+        for (int i = 0; i < n; i++) {
+            // 容量按段精确分配，前 capacity % n 个段多分一个
+            segments[i] = new Segment<>(capacity / n + (i < capacity % n ? 1 : 0));
+        }
+    }
+
+    /**
+     * 用哈希的高位选段，段内 ConcurrentHashMap 使用低位，二者互不相关
+     *
+     * @param key
+     * @return
+     */
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return segmentShift == 32 ? segments[0] : segments[h >>> segmentShift];
+    }
+
+    /**
+     * 读缓存，无锁
+     *
+     * @param key
+     * @return
+     */
+    public V get(K key) {
+        return segmentFor(key).get(key);
+    }
+
+    /**
+     * 写缓存
+     *
+     * @param key
+     * @param value
+     * @return 旧值
+     */
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        return segmentFor(key).put(key, value);
+    }
+
+    /**
+     * @param key
+     * @return 旧值
+     */
+    public V remove(K key) {
+        return segmentFor(key).remove(key);
+    }
+
+    /**
+     * 当前元素个数（各段之和，并发修改时为近似值）
+     *
+     * @return
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 双向链表节点，prev、next、removed 由段锁保护
+     *
+     * @param <K>
+     * @param <V>
+     */
+    private static final class Node<K, V> {
+
+        final K key;
+
+        volatile V value;
+
+        Node<K, V> prev, next;
+
+        boolean removed;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 段：独立的哈希表、LRU 链表和读缓冲区
+     *
+     * @param <K>
+     * @param <V>
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private final ConcurrentHashMap<K, Node<K, V>> map;
+
+        /**
+         * 哨兵节点：head.next 最近使用，tail.prev 最久未使用
+         */
+        private final Node<K, V> head = new Node<>(null, null), tail = new Node<>(null, null);
+
+        private final AtomicReferenceArray<Node<K, V>> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+
+        /**
+         * 读缓冲区写入计数（无锁递增）、回放计数（段锁保护）
+         */
+        private final AtomicLong readBufferWrites = new AtomicLong();
+
+        private long readBufferReads;
+
+        /**
+         * 段内元素个数，段锁下修改
+         */
+        private volatile int count;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.map = new ConcurrentHashMap<>((int) Math.ceil(capacity / 0.75) + 1);
+            head.next = tail;
+            tail.prev = head;
+        }
+
+        V get(Object key) {
+            Node<K, V> node = map.get(key);
+            if (node == null) {
+                return null;
+            }
+            recordAccess(node);
+            return node.value;
+        }
+
+        /**
+         * 记录一次访问，不加锁
+         *
+         * @param node
+         */
+        private void recordAccess(Node<K, V> node) {
+            long idx = readBufferWrites.getAndIncrement();
+            readBuffer.lazySet((int) idx & READ_BUFFER_MASK, node);
+            if ((idx & DRAIN_THRESHOLD_MASK) == DRAIN_THRESHOLD_MASK && tryLock()) {
+                try {
+                    drainReadBuffer();
+                } finally {
+                    unlock();
+                }
+            }
+        }
+
+        /**
+         * 把读缓冲区中的访问记录回放到 LRU 链表，调用前须持有段锁
+         */
+        private void drainReadBuffer() {
+            long writes = readBufferWrites.get();
+
+            // 写入方已经绕过一圈时，更早的记录已被覆盖
+            long start = Math.max(readBufferReads, writes - READ_BUFFER_SIZE);
+            for (long i = start; i < writes; i++) {
+                Node<K, V> node = readBuffer.getAndSet((int) i & READ_BUFFER_MASK, null);
+                if (node != null && !node.removed) {
+                    moveToHead(node);
+                }
+            }
+            readBufferReads = writes;
+        }
+
+        V put(K key, V value) {
+            lock();
+            try {
+                drainReadBuffer();
+                Node<K, V> node = map.get(key);
+                if (node != null) {
+                    V old = node.value;
+                    node.value = value;
+                    moveToHead(node);
+                    return old;
+                }
+                node = new Node<>(key, value);
+                map.put(key, node);
+                addToHead(node);
+                if (count == capacity) {
+                    Node<K, V> eldest = tail.prev;
+                    unlink(eldest);
+                    map.remove(eldest.key, eldest);
+                } else {
+                    count++;
+                }
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        V remove(Object key) {
+            lock();
+            try {
+                Node<K, V> node = map.remove(key);
+                if (node == null) {
+                    return null;
+                }
+                unlink(node);
+                count--;
+                return node.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        private void addToHead(Node<K, V> node) {
+            node.prev = head;
+            node.next = head.next;
+            head.next.prev = node;
+            head.next = node;
+        }
+
+        private void unlink(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = node.next = null;
+            node.removed = true;
+        }
+
+        private void moveToHead(Node<K, V> node) {
+            if (head.next == node) {
+                return;
+            }
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            addToHead(node);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.ywh.ds.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 无锁队列在满（或空）时的等待策略
+ *
+ * 1. spin：忙等，延迟最低，独占 CPU；
+ * 2. yielding：先自旋若干次再 Thread.yield；
+ * 3. parking：先自旋、再 yield，之后每次 park 一小段时间，CPU 占用低，唤醒延迟为 park 时长量级；
+ * 4. blocking：在锁和条件变量上阻塞，由对端 signalAll 唤醒，适合长时间空闲的场景。
+ * 前三种不需要唤醒，signalAll 为空操作；blocking 每个队列需要独立的实例。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public abstract class WaitStrategy {
+
+    private static final int SPIN_TRIES = 100, YIELD_TRIES = 100;
+
+    /**
+     * parking 每次 park 的时长
+     */
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * 等待直到 ready 为真
+     *
+     * @param ready
+     * @param timed    是否限时
+     * @param deadline 限时的截止时间（System.nanoTime()）
+     * @return ready 是否为真（false 表示超时）
+     * @throws InterruptedException
+     */
+    public abstract boolean await(BooleanSupplier ready, boolean timed, long deadline) throws InterruptedException;
+
+    /**
+     * 队列状态变化后调用，唤醒等待者
+     */
+    public void signalAll() {
+    }
+
+    public static WaitStrategy spin() {
+        return SPIN;
+    }
+
+    public static WaitStrategy yielding() {
+        return YIELDING;
+    }
+
+    public static WaitStrategy parking() {
+        return PARKING;
+    }
+
+    /**
+     * @return 新的实例，不能在多个队列间共享
+     */
+    public static WaitStrategy blocking() {
+        return new Blocking();
+    }
+
+    private static final WaitStrategy SPIN = new Backoff(Integer.MAX_VALUE, 0);
+
+    private static final WaitStrategy YIELDING = new Backoff(SPIN_TRIES, Integer.MAX_VALUE);
+
+    private static final WaitStrategy PARKING = new Backoff(SPIN_TRIES, YIELD_TRIES);
+
+    /**
+     * 自旋 -> yield -> park 的退避
+     */
+    private static final class Backoff extends WaitStrategy {
+
+        private final int spinTries, yieldTries;
+
+        Backoff(int spinTries, int yieldTries) {
+            this.spinTries = spinTries;
+            this.yieldTries = yieldTries;
+        }
+
+        @Override
+        public boolean await(BooleanSupplier ready, boolean timed, long deadline) throws InterruptedException {
+            for (long counter = 0; !ready.getAsBoolean(); counter++) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (timed && deadline - System.nanoTime() <= 0) {
+                    return false;
+                }
+                if (counter < spinTries) {
+                    continue;
+                }
+                if (counter - spinTries < yieldTries) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(this, timed ? Math.min(PARK_NANOS, deadline - System.nanoTime()) : PARK_NANOS);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 条件变量阻塞
+     *
+     * 等待者在锁内检查 ready 后 await；唤醒方只在有等待者时加锁 signalAll。队列发布元素使用有序写，
+     * 与等待者的检查之间可能错过一次唤醒，因此每次 await 最多等待 MAX_BLOCK_NANOS 后重新检查，错过唤醒的代价有上界。
+     */
+    private static final class Blocking extends WaitStrategy {
+
+        private static final long MAX_BLOCK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Condition changed = lock.newCondition();
+
+        private volatile int waiters;
+
+        @Override
+        public boolean await(BooleanSupplier ready, boolean timed, long deadline) throws InterruptedException {
+            if (ready.getAsBoolean()) {
+                return true;
+            }
+            lock.lockInterruptibly();
+            try {
+                waiters++;
+                try {
+                    while (!ready.getAsBoolean()) {
+                        long nanos = MAX_BLOCK_NANOS;
+                        if (timed) {
+                            long remaining = deadline - System.nanoTime();
+                            if (remaining <= 0) {
+                                return false;
+                            }
+                            nanos = Math.min(nanos, remaining);
+                        }
+                        changed.awaitNanos(nanos);
+                    }
+                    return true;
+                } finally {
+                    waiters--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            if (waiters > 0) {
+                lock.lock();
+                try {
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
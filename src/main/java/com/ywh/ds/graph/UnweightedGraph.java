@@ -1,5 +1,7 @@
 package com.ywh.ds.graph;
 
+import com.ywh.ds.queue.IntCircularQueue;
+
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
@@ -615,7 +617,7 @@ public class UnweightedGraph implements Graph, Cloneable {
      */
     public void bfs() {
         boolean[] visited = new boolean[V];
-        Queue<Integer> queue = new LinkedList<>();
+        IntCircularQueue queue = new IntCircularQueue();
         List<Integer> order = new ArrayList<>();
 
         // 遍历所有顶点，添加到队列中。
@@ -623,16 +625,16 @@ public class UnweightedGraph implements Graph, Cloneable {
             if (visited[i]) {
                 continue;
             }
-            queue.add(i);
+            queue.enqueue(i);
             // 队列为空，表示一个连通分量遍历完成。
             while (!queue.isEmpty()) {
                 // 从队列中取出一个顶点 v，添加到结果数组。
-                int v = queue.poll();
+                int v = queue.dequeue();
                 order.add(v);
                 // 遍历所有邻接顶点 w，如果 w 未被访问则添加到队列中，并标记为已访问。
                 for (int w : adj(v)) {
                     if (!visited[w]) {
-                        queue.add(w);
+                        queue.enqueue(w);
                         visited[w] = true;
                     }
                 }
@@ -657,12 +659,12 @@ public class UnweightedGraph implements Graph, Cloneable {
         boolean[] visited = new boolean[V];
         visited[src] = true;
         ArrayList<Integer> ret = new ArrayList<>();
-        Queue<Integer> queue = new LinkedList<>();
-        queue.add(src);
+        IntCircularQueue queue = new IntCircularQueue();
+        queue.enqueue(src);
         int[] prev = new int[V];
         Arrays.fill(prev, -1);
         while (!queue.isEmpty()) {
-            int v = queue.poll();
+            int v = queue.dequeue();
             for (int w : adj(v)) {
                 if (visited[w]) {
                     continue;
@@ -673,7 +675,7 @@ public class UnweightedGraph implements Graph, Cloneable {
                     return ret;
                 }
                 visited[w] = true;
-                queue.add(w);
+                queue.enqueue(w);
             }
         }
         return ret;
@@ -692,16 +694,16 @@ public class UnweightedGraph implements Graph, Cloneable {
         boolean[] visited = new boolean[V];
         visited[src] = true;
         ArrayList<Integer> ret = new ArrayList<>();
-        Queue<Integer> queue = new LinkedList<>();
-        queue.add(src);
+        IntCircularQueue queue = new IntCircularQueue();
+        queue.enqueue(src);
         int[] prev = new int[V];
         Arrays.fill(prev, -1);
         prev[src] = src;
         while (!queue.isEmpty()) {
-            int v = queue.poll();
+            int v = queue.dequeue();
             for (int w : adj(v)) {
                 if (!visited[w]) {
-                    queue.add(w);
+                    queue.enqueue(w);
                     visited[w] = true;
                     prev[w] = v;
                 }
@@ -760,14 +762,14 @@ public class UnweightedGraph implements Graph, Cloneable {
             if (visited[i] != -1) {
                 continue;
             }
-            Queue<Integer> queue = new LinkedList<>();
-            queue.add(i);
+            IntCircularQueue queue = new IntCircularQueue();
+            queue.enqueue(i);
             visited[i] = cccount;
             while (!queue.isEmpty()) {
-                int v = queue.poll();
+                int v = queue.dequeue();
                 for (int w : adj[v]) {
                     if (visited[w] == -1) {
-                        queue.add(w);
+                        queue.enqueue(w);
                         visited[w] = cccount;
                     }
                 }
@@ -799,14 +801,14 @@ public class UnweightedGraph implements Graph, Cloneable {
                 continue;
             }
             // 从顶点 i 开始，判断图是否有环。
-            Queue<Integer> queue = new LinkedList<>();
-            queue.add(i);
+            IntCircularQueue queue = new IntCircularQueue();
+            queue.enqueue(i);
             visited[i] = true;
             while (!queue.isEmpty()) {
-                int v = queue.poll();
+                int v = queue.dequeue();
                 for (int w : adj(v)) {
                     if (!visited[w]) {
-                        queue.add(w);
+                        queue.enqueue(w);
                         visited[w] = true;
                         prev[w] = v;
                     } else if (prev[v] != w) {
@@ -831,15 +833,15 @@ public class UnweightedGraph implements Graph, Cloneable {
             }
             // 从 i 顶点开始遍历，颜色设置为 1。
             visited[i] = 1;
-            Queue<Integer> queue = new LinkedList<>();
-            queue.add(i);
+            IntCircularQueue queue = new IntCircularQueue();
+            queue.enqueue(i);
             while (!queue.isEmpty()) {
-                int v = queue.poll();
+                int v = queue.dequeue();
                 // v 的邻接顶点 w
                 for (int w : adj[v]) {
                     // w 未访问：取反色，入队。
                     if (visited[w] == 0) {
-                        queue.add(w);
+                        queue.enqueue(w);
                         visited[w] = -visited[v];
                     }
                     // w 已访问，且与 v 颜色相同，非二分图。
@@ -867,15 +869,15 @@ public class UnweightedGraph implements Graph, Cloneable {
         Arrays.fill(dis, -1);
 
         boolean[] visited = new boolean[V];
-        Queue<Integer> queue = new LinkedList<>();
-        queue.add(src);
+        IntCircularQueue queue = new IntCircularQueue();
+        queue.enqueue(src);
         visited[src] = true;
         prev[src] = src;
 
         // dis[i] 表示从 src 到达 i 的最短距离。
         dis[src] = 0;
         while (!queue.isEmpty()) {
-            int v = queue.poll();
+            int v = queue.dequeue();
             for (int w : adj(v)) {
 
                 // 访问过的邻接点会跳过（不计算距离），计算距离时该点都是首次被访问的。
@@ -883,7 +885,7 @@ public class UnweightedGraph implements Graph, Cloneable {
                 if (visited[w]) {
                     continue;
                 }
-                queue.add(w);
+                queue.enqueue(w);
                 visited[w] = true;
                 prev[w] = v;
                 dis[w] = dis[v] + 1;
@@ -1341,23 +1343,23 @@ public class UnweightedGraph implements Graph, Cloneable {
             throw new IllegalArgumentException("topological sort only works in directed graph.");
         }
         List<Integer> ret = new ArrayList<>(V);
-        Queue<Integer> queue = new LinkedList<>();
+        IntCircularQueue queue = new IntCircularQueue();
         int[] indgr = new int[V];
         for (int i = 0; i < V; i++) {
             indgr[i] = indegree(i);
             if (indgr[i] == 0) {
-                queue.add(i);
+                queue.enqueue(i);
             }
         }
 
         // 循环处理入度为 0 的顶点
         while (!queue.isEmpty()) {
-            int v = queue.poll();
+            int v = queue.dequeue();
             ret.add(v);
             for (int w : adj(v)) {
                 indgr[w]--;
                 if (indgr[w] == 0) {
-                    queue.add(w);
+                    queue.enqueue(w);
                 }
             }
         }
@@ -1522,14 +1524,14 @@ public class UnweightedGraph implements Graph, Cloneable {
             if (colors[i] != -1) {
                 continue;
             }
-            Queue<Integer> queue = new LinkedList<>();
-            queue.add(i);
+            IntCircularQueue queue = new IntCircularQueue();
+            queue.enqueue(i);
             colors[i] = 1;
             while (!queue.isEmpty()) {
-                int v = queue.poll();
+                int v = queue.dequeue();
                 for (int w : g.adj(v)) {
                     if (colors[w] == -1) {
-                        queue.add(w);
+                        queue.enqueue(w);
                         colors[w] = -colors[v];
                     } else if (colors[w] == colors[v]) {
                         throw new IllegalArgumentException("bipartite matching only works for bipartite graph");
@@ -1588,14 +1590,14 @@ public class UnweightedGraph implements Graph, Cloneable {
             if (colors[i] != -1) {
                 continue;
             }
-            Queue<Integer> queue = new LinkedList<>();
-            queue.add(i);
+            IntCircularQueue queue = new IntCircularQueue();
+            queue.enqueue(i);
             colors[i] = 1;
             while (!queue.isEmpty()) {
-                int v = queue.poll();
+                int v = queue.dequeue();
                 for (int w : g.adj(v)) {
                     if (colors[w] == -1) {
-                        queue.add(w);
+                        queue.enqueue(w);
                         colors[w] = -colors[v];
                     } else if (colors[w] == colors[v]) {
                         throw new IllegalArgumentException("bipartite matching only works for bipartite graph");
@@ -1654,16 +1656,16 @@ public class UnweightedGraph implements Graph, Cloneable {
      * @return
      */
     private boolean hungarianBfs(int v, int[] matching) {
-        Queue<Integer> q = new LinkedList<>();
+        IntCircularQueue q = new IntCircularQueue();
 
         // 记录当前节点的上一个节点（默认 -1，表示未遍历过），倒序寻找路径。
         int[] prev = new int[V];
         Arrays.fill(prev, -1);
 
-        q.add(v);
+        q.enqueue(v);
         prev[v] = v;
         while (!q.isEmpty()) {
-            int cur = q.remove();
+            int cur = q.dequeue();
             for (int next: adj(cur)) {
                 // 已访问的点，跳过。
                 if (prev[next] != -1) {
@@ -1673,7 +1675,7 @@ public class UnweightedGraph implements Graph, Cloneable {
                 if (matching[next] != -1) {
 
                     // matching[next] 添加到队列。
-                    q.add(matching[next]);
+                    q.enqueue(matching[next]);
                     // cur -> next -> matching[next]
                     prev[next] = cur;
                     prev[matching[next]] = next;
@@ -0,0 +1,102 @@
+package com.ywh.ds.hash;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 布隆过滤器的公共入口
+ *
+ * 各种元素类型（String、byte[]、long、ByteBuffer）统一在这里用 Murmur3 128 位哈希（种子为 BloomFilter.SEED）算出 h1、h2，
+ * 再交给子类按各自的位数组布局置位或查询。同一个元素在 BloomFilter、ScalableBloomFilter、BlockedBloomFilter、
+ * ConcurrentBloomFilter、MappedBloomFilter 中得到的 h1、h2 相同。
+ *
+ * 哈希结果放在每次调用的局部数组中，多个线程可以并发调用（是否线程安全取决于子类的位数组）。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public abstract class AbstractBloomFilter {
+
+    AbstractBloomFilter() {
+    }
+
+    /**
+     * 添加数据
+     *
+     * @param value 需要加入的值，为 null 时不添加
+     * @return 含义见子类
+     */
+    public boolean add(String value) {
+        if (value == null) {
+            return false;
+        }
+        long[] hashes = new long[2];
+        Murmur3.hash128(value, BloomFilter.SEED, hashes);
+        return add(hashes[0], hashes[1]);
+    }
+
+    public boolean add(byte[] value) {
+        long[] hashes = new long[2];
+        Murmur3.hash128(value, BloomFilter.SEED, hashes);
+        return add(hashes[0], hashes[1]);
+    }
+
+    public boolean add(long value) {
+        long[] hashes = new long[2];
+        Murmur3.hash128(value, BloomFilter.SEED, hashes);
+        return add(hashes[0], hashes[1]);
+    }
+
+    /**
+     * @param value position 到 limit 之间的字节，不改变 position
+     * @return
+     */
+    public boolean add(ByteBuffer value) {
+        long[] hashes = new long[2];
+        Murmur3.hash128(value, BloomFilter.SEED, hashes);
+        return add(hashes[0], hashes[1]);
+    }
+
+    /**
+     * 判断相应元素是否存在
+     *
+     * @param value 需要判断的元素
+     * @return 结果
+     */
+    public boolean contains(String value) {
+        if (value == null) {
+            return false;
+        }
+        long[] hashes = new long[2];
+        Murmur3.hash128(value, BloomFilter.SEED, hashes);
+        return contains(hashes[0], hashes[1]);
+    }
+
+    public boolean contains(byte[] value) {
+        long[] hashes = new long[2];
+        Murmur3.hash128(value, BloomFilter.SEED, hashes);
+        return contains(hashes[0], hashes[1]);
+    }
+
+    public boolean contains(long value) {
+        long[] hashes = new long[2];
+        Murmur3.hash128(value, BloomFilter.SEED, hashes);
+        return contains(hashes[0], hashes[1]);
+    }
+
+    public boolean contains(ByteBuffer value) {
+        long[] hashes = new long[2];
+        Murmur3.hash128(value, BloomFilter.SEED, hashes);
+        return contains(hashes[0], hashes[1]);
+    }
+
+    /**
+     * 按已计算的哈希值添加
+     *
+     * @param h1
+     * @param h2
+     * @return
+     */
+    abstract boolean add(long h1, long h2);
+
+    abstract boolean contains(long h1, long h2);
+}
@@ -0,0 +1,139 @@
+package com.ywh.ds.hash;
+
+
+/**
+ * 分块布隆过滤器（Putze et al., Cache-, Hash- and Space-Efficient Bloom Filters）
+ *
+ * BloomFilter 的 k 个下标分散在整个位数组上，位数组远大于缓存时每次查询有 k 次缓存未命中。这里把位数组按 512 位
+ * （64 字节，一个缓存行）分块：
+ * 1. 由 h1 选出一个块，一个元素的 k 位都落在这个块内，每次查询只访问一个缓存行；
+ * 2. 块内下标取自以 h2 为初值的 64 位线性同余序列的高 9 位。块只有 512 位，双重哈希 (a + i * b) mod 512 的等差序列
+ *    彼此大量重叠（(a, b) 与 (a + b, b) 共享 k - 1 位），误判率明显升高，因此这里不用双重哈希；
+ * 3. 位数组为 long[]，每块 8 个 long。数组起始地址不保证 64 字节对齐，一个块最多跨两个相邻缓存行。
+ *
+ * 代价是块内负载不均：按同样的 m、k，误判率比 BloomFilter 高（1% 时约高 15%，0.1% 时约高 70%），可以多给一些位数弥补。
+ * 与 BloomFilter 使用同一个 Murmur3 哈希。add 非线程安全；不再写入后，多个线程可以并发 contains。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class BlockedBloomFilter extends AbstractBloomFilter {
+
+    /**
+     * 每块的位数、long 个数
+     */
+    private static final int BLOCK_BITS = 512, BLOCK_WORDS = BLOCK_BITS / 64;
+
+    /**
+     * Knuth MMIX 的线性同余参数，高位随机性好
+     */
+    private static final long LCG_MULTIPLIER = 6364136223846793005L, LCG_INCREMENT = 1442695040888963407L;
+
+    private final long[] words;
+
+    private final int blocks;
+
+    private final int k;
+
+    private long count = 0;
+
+    /**
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率（按非分块的公式计算 m、k，实际略高）
+     */
+    public BlockedBloomFilter(long expectedInsertions, double fpp) {
+        this(expectedInsertions, BloomFilter.optimalNumOfBits(expectedInsertions, fpp));
+    }
+
+    /**
+     * @param expectedInsertions
+     * @param numBits            optimalNumOfBits 计算出的比特位数，按它计算哈希函数个数
+     */
+    private BlockedBloomFilter(long expectedInsertions, long numBits) {
+        this(numBits, BloomFilter.optimalNumOfHashFunctions(expectedInsertions, numBits));
+    }
+
+    /**
+     * @param numBits 比特位数，向上取 512 的倍数
+     * @param k       哈希函数个数
+     */
+    public BlockedBloomFilter(long numBits, int k) {
+        if (k <= 0 || k > BLOCK_BITS) {
+            throw new IllegalArgumentException("k must be in (0, " + BLOCK_BITS + "]");
+        }
+        long n = (numBits + BLOCK_BITS - 1) / BLOCK_BITS;
+        if (numBits <= 0 || n * BLOCK_WORDS > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("numBits out of range: " + numBits);
+        }
+        this.blocks = (int) n;
+        this.words = new long[blocks * BLOCK_WORDS];
+        this.k = k;
+    }
+
+    /**
+     * @param h1 选块
+     * @param h2 块内下标序列的初值
+     * @return 位数组是否发生变化
+     */
+    @Override
+    boolean add(long h1, long h2) {
+        int base = blockOf(h1) * BLOCK_WORDS;
+        long x = h2;
+        boolean changed = false;
+        for (int i = 0; i < k; i++) {
+            int bit = (int) (x >>> 55);
+            int idx = base + (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words[idx] & mask) == 0) {
+                words[idx] |= mask;
+                changed = true;
+            }
+            x = x * LCG_MULTIPLIER + LCG_INCREMENT;
+        }
+        if (changed) {
+            count++;
+        }
+        return changed;
+    }
+
+    @Override
+    boolean contains(long h1, long h2) {
+        int base = blockOf(h1) * BLOCK_WORDS;
+        long x = h2;
+        for (int i = 0; i < k; i++) {
+            int bit = (int) (x >>> 55);
+            if ((words[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+            x = x * LCG_MULTIPLIER + LCG_INCREMENT;
+        }
+        return true;
+    }
+
+    /**
+     * 把 h1 的高 32 位映射到 [0, blocks)：(x * blocks) >>> 32，用乘法代替取模
+     *
+     * @param h1
+     * @return
+     */
+    private int blockOf(long h1) {
+        return (int) (((h1 >>> 32) * blocks) >>> 32);
+    }
+
+    /**
+     * 近似的元素个数（不计被误判为已存在的插入）
+     *
+     * @return
+     */
+    public long approximateCount() {
+        return count;
+    }
+
+    public long bitSize() {
+        return (long) blocks * BLOCK_BITS;
+    }
+
+    public int hashCount() {
+        return k;
+    }
+}
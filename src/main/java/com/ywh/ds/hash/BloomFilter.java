@@ -1,77 +1,344 @@
 package com.ywh.ds.hash;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.BitSet;
 
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
 /**
+ * 布隆过滤器
+ *
+ * 按预计元素个数 n 与期望误判率 p 计算比特位数 m 与哈希函数个数 k：
+ * m = -n * ln(p) / (ln2)^2，k = m / n * ln2
+ * 插入个数超过 n 后误判率持续上升，需要继续插入时使用 ScalableBloomFilter。
+ *
+ * 每个元素只计算一次 Murmur3 128 位哈希，得到 h1、h2，再按 Kirsch-Mitzenmacher 双重哈希得到 k 个下标：
+ * g_i = (h1 + i * h2) mod m，误判率与 k 个独立哈希函数渐近相同，而不必对元素做 k 次哈希。
+ *
+ * add 非线程安全；不再写入后，多个线程可以并发 contains（哈希结果放在调用方的局部数组中，查询只读位数组）。
+ *
+ * writeTo 把位数组与参数写入快照文件，readFrom 读回堆上的 BloomFilter；MappedBloomFilter 直接映射快照文件，不必加载。
+ * 快照文件格式（小端）：
+ * 0   int   魔数 "BLMF"
+ * 4   byte  版本
+ * 5   byte  哈希方式：1 = Murmur3 128 + 双重哈希
+ * 8   int   Murmur3 种子
+ * 12  int   k
+ * 16  long  m
+ * 24  long  预计元素个数
+ * 32  long  元素个数
+ * 64  位数组，m / 64 个 long（头部补齐到 64 字节，映射后位数组从缓存行边界开始）
+ *
  * @author ywh
  * @since 19/03/2021
  */
-public class BloomFilter {
+public class BloomFilter extends AbstractBloomFilter {
 
     /**
      * 长度为 1_073_741_824 的比特位
      */
-    final int DEFAULT_SIZE = 2 << 29;
+    static final int DEFAULT_SIZE = 2 << 29;
+
+    /**
+     * 比特位数上限：BitSet 下标为 int，取不超过 Integer.MAX_VALUE 的 64 的倍数
+     */
+    static final int MAX_SIZE = Integer.MAX_VALUE & ~63;
 
     /**
      * 为了降低错误率，使用加法 hash 算法，所以定义一个 8 个元素的质数数组
+     *
+     * @deprecated 改用 Murmur3 双重哈希后不再使用，默认构造方法仍使用 8 个哈希函数
      */
+    @Deprecated
     public static final int[] seeds = {3, 5, 7, 11, 13, 31, 37, 61};
 
     /**
-     * 8 个不同的 hash 函数。
+     * Murmur3 的种子
      */
-    private final HashFunction[] functions = new HashFunction[seeds.length];
+    static final int SEED = 0;
+
+    /**
+     * 快照文件的魔数、头部长度、版本、哈希方式
+     */
+    static final int MAGIC = 0x424C4D46, HEADER_BYTES = 64;
+
+    static final byte VERSION = 1, HASH_MURMUR3_128 = 1;
+
+    /**
+     * 头部各字段的偏移
+     */
+    static final int SEED_OFFSET = 8, K_OFFSET = 12, SIZE_OFFSET = 16, EXPECTED_OFFSET = 24, COUNT_OFFSET = 32;
 
     /**
      * Bitmap
      */
-    private final BitSet bitmap = new BitSet(DEFAULT_SIZE);
+    private final BitSet bitmap;
+
+    private final int size;
+
+    /**
+     * 哈希函数个数
+     */
+    private final int k;
+
+    /**
+     * 预计元素个数
+     */
+    private final long expectedInsertions;
+
+    /**
+     * 使 bitmap 发生变化的插入次数，即（近似的）元素个数
+     */
+    private long count = 0;
 
     /**
      *
      */
     public BloomFilter() {
-        for (int i = 0; i < seeds.length; i++) {
-            functions[i] = new HashFunction(DEFAULT_SIZE, seeds[i]);
+        this(DEFAULT_SIZE, 8, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率，(0, 1)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        this(expectedInsertions, sizeFor(expectedInsertions, fpp));
+    }
+
+    /**
+     * @param expectedInsertions
+     * @param size               sizeFor 计算出的比特位数，按它计算哈希函数个数
+     */
+    private BloomFilter(long expectedInsertions, int size) {
+        this(size, optimalNumOfHashFunctions(expectedInsertions, size), expectedInsertions);
+    }
+
+    private BloomFilter(int size, int k, long expectedInsertions) {
+        this(size, k, expectedInsertions, new BitSet(size), 0);
+    }
+
+    private BloomFilter(int size, int k, long expectedInsertions, BitSet bitmap, long count) {
+        this.size = size;
+        this.k = k;
+        this.expectedInsertions = expectedInsertions;
+        this.bitmap = bitmap;
+        this.count = count;
+    }
+
+    /**
+     * 最优比特位数：m = -n * ln(p) / (ln2)^2
+     *
+     * @param n
+     * @param p
+     * @return
+     */
+    public static long optimalNumOfBits(long n, double p) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (!(p > 0 && p < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1)");
         }
+        return (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
     }
 
     /**
-     * 添加数据
+     * 最优哈希函数个数：k = m / n * ln2，至少为 1
      *
-     * @param value 需要加入的值
+     * @param n
+     * @param m
+     * @return
      */
-    public void add(String value) {
-        if (value != null) {
-            for (HashFunction f : functions) {
-                // 计算 hash 值并修改 bitmap 中相应位置为 true。
-                bitmap.set(f.hash(value), true);
-            }
+    public static int optimalNumOfHashFunctions(long n, long m) {
+        return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    /**
+     * 实际使用的比特位数：最优比特位数向上取 64 的倍数
+     *
+     * @param n
+     * @param p
+     * @return
+     */
+    static int sizeFor(long n, double p) {
+        long m = optimalNumOfBits(n, p);
+        if (m > MAX_SIZE) {
+            throw new IllegalArgumentException("requires " + m + " bits, exceeds " + MAX_SIZE);
         }
+        return (int) Math.max(64, (m + 63) & ~63L);
     }
 
     /**
-     * 判断相应元素是否存在
+     * 按已计算的哈希值添加，ScalableBloomFilter 也直接调用，对一个元素只哈希一次
      *
-     * @param value 需要判断的元素
-     * @return 结果
+     * @param h1
+     * @param h2
+     * @return bitmap 是否发生变化（为 false 时该值可能已存在）
      */
-    public boolean contains(String value) {
-        if (value == null) {
-            return false;
+    @Override
+    boolean add(long h1, long h2) {
+        boolean changed = false;
+        long combined = h1;
+        for (int i = 0; i < k; i++, combined += h2) {
+            // 计算下标并修改 bitmap 中相应位置为 true。
+            int idx = index(combined, size);
+            if (!bitmap.get(idx)) {
+                bitmap.set(idx);
+                changed = true;
+            }
+        }
+        if (changed) {
+            count++;
+        }
+        return changed;
+    }
+
+    @Override
+    boolean contains(long h1, long h2) {
+        long combined = h1;
+        for (int i = 0; i < k; i++, combined += h2) {
+            if (!bitmap.get(index(combined, size))) {
+                return false;
+            }
         }
-        boolean ret = true;
-        for (HashFunction f : functions) {
-            ret = bitmap.get(f.hash(value));
-            if (!ret) {
-                break;
+        return true;
+    }
+
+    /**
+     * 双重哈希的第 i 个下标：combined = h1 + i * h2（溢出回绕），取非负部分对 m 取模。
+     * ConcurrentBloomFilter、MappedBloomFilter 与快照文件格式都依赖这一计算，修改即改变文件格式。
+     *
+     * @param combined
+     * @param size     m
+     * @return
+     */
+    static int index(long combined, int size) {
+        return (int) ((combined & Long.MAX_VALUE) % size);
+    }
+
+    /**
+     * 按当前元素个数估算的误判率：(1 - e^(-kn/m))^k
+     *
+     * @return
+     */
+    public double expectedFpp() {
+        return ErrorPredict.getErrorStand(count, k, size);
+    }
+
+    /**
+     * 元素个数是否已达到预计元素个数，此后误判率将超过期望值
+     *
+     * @return
+     */
+    public boolean isSaturated() {
+        return count >= expectedInsertions;
+    }
+
+    /**
+     * 近似的元素个数（不计被误判为已存在的插入）
+     *
+     * @return
+     */
+    public long approximateCount() {
+        return count;
+    }
+
+    public int bitSize() {
+        return size;
+    }
+
+    public int hashCount() {
+        return k;
+    }
+
+    /**
+     * 写入快照文件（覆盖已有文件）
+     *
+     * @param path
+     * @throws IOException
+     */
+    public void writeTo(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buf.put(header(SEED, k, size, expectedInsertions, count));
+            // toLongArray 去掉了末尾为 0 的 long，不足部分补 0
+            long[] words = bitmap.toLongArray();
+            for (int i = 0; i < size >>> 6; i++) {
+                if (!buf.hasRemaining()) {
+                    writeFully(channel, buf);
+                }
+                buf.putLong(i < words.length ? words[i] : 0);
             }
+            writeFully(channel, buf);
         }
-        return ret;
     }
 
+    /**
+     * 从快照文件读回
+     *
+     * @param path
+     * @return
+     * @throws IOException 文件格式不正确
+     */
+    public static BloomFilter readFrom(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            checkHeader(mapped, channel.size());
+            ByteBuffer words = mapped.duplicate();
+            words.position(HEADER_BYTES);
+            BitSet bitmap = BitSet.valueOf(words.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer());
+            return new BloomFilter((int) mapped.getLong(SIZE_OFFSET), mapped.getInt(K_OFFSET),
+                mapped.getLong(EXPECTED_OFFSET), bitmap, mapped.getLong(COUNT_OFFSET));
+        }
+    }
 
+    /**
+     * 快照文件头部，position 为 0，limit 为 HEADER_BYTES
+     */
+    static ByteBuffer header(int seed, int k, long size, long expectedInsertions, long count) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC).put(4, VERSION).put(5, HASH_MURMUR3_128).putInt(SEED_OFFSET, seed).putInt(K_OFFSET, k)
+            .putLong(SIZE_OFFSET, size).putLong(EXPECTED_OFFSET, expectedInsertions).putLong(COUNT_OFFSET, count);
+        return header;
+    }
+
+    /**
+     * 校验快照文件头部（小端 buf，绝对位置读取）与文件长度
+     *
+     * @throws IOException 文件格式不正确
+     */
+    static void checkHeader(ByteBuffer buf, long fileSize) throws IOException {
+        if (fileSize < HEADER_BYTES || buf.getInt(0) != MAGIC) {
+            throw new IOException("not a bloom filter snapshot");
+        }
+        if (buf.get(4) != VERSION || buf.get(5) != HASH_MURMUR3_128 || buf.getInt(SEED_OFFSET) != SEED) {
+            throw new IOException("unsupported snapshot: version " + buf.get(4) + ", hash " + buf.get(5)
+                + ", seed " + buf.getInt(SEED_OFFSET));
+        }
+        long size = buf.getLong(SIZE_OFFSET);
+        if (size <= 0 || size > MAX_SIZE || (size & 63) != 0 || buf.getInt(K_OFFSET) <= 0
+            || fileSize != HEADER_BYTES + (size >>> 3)) {
+            throw new IOException("corrupted snapshot: m=" + size + ", k=" + buf.getInt(K_OFFSET) + ", file size " + fileSize);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+        buf.clear();
+    }
 
     public static void main(String[] args) {
 //        BloomFilter bf = new BloomFilter();
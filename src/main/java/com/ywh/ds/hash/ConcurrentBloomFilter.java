@@ -0,0 +1,119 @@
+package com.ywh.ds.hash;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的布隆过滤器
+ *
+ * BloomFilter 基于 BitSet，多线程写入需要外部加锁。这里位数组为 AtomicLongArray：
+ * 1. add 对每个下标所在的 long 做 CAS：读出旧值，已置位则跳过，否则 CAS 写入 旧值 | mask，失败重试。
+ *    置位只会让位从 0 变 1，重试只发生在同一个 long 被并发修改时；
+ * 2. contains 只做 volatile 读，add 返回之后开始的 contains 一定能看到它置的位；
+ * 3. merge 把另一个参数相同的过滤器按位或进来，各线程可以各自写一个过滤器，最后合并。
+ *
+ * 哈希（AbstractBloomFilter）与下标计算（BloomFilter.index）都与 BloomFilter 共用，同样参数的两种过滤器对同一元素置相同的位。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class ConcurrentBloomFilter extends AbstractBloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final int size;
+
+    private final int k;
+
+    /**
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率，(0, 1)
+     */
+    public ConcurrentBloomFilter(long expectedInsertions, double fpp) {
+        this.size = BloomFilter.sizeFor(expectedInsertions, fpp);
+        this.k = BloomFilter.optimalNumOfHashFunctions(expectedInsertions, size);
+        this.words = new AtomicLongArray(size >>> 6);
+    }
+
+    /**
+     * @param h1
+     * @param h2
+     * @return 是否有位由本次调用置位
+     */
+    @Override
+    boolean add(long h1, long h2) {
+        boolean changed = false;
+        long combined = h1;
+        for (int i = 0; i < k; i++, combined += h2) {
+            int idx = BloomFilter.index(combined, size);
+            long mask = 1L << idx;
+            for (; ; ) {
+                long old = words.get(idx >>> 6);
+                if ((old & mask) != 0) {
+                    break;
+                }
+                if (words.compareAndSet(idx >>> 6, old, old | mask)) {
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    boolean contains(long h1, long h2) {
+        long combined = h1;
+        for (int i = 0; i < k; i++, combined += h2) {
+            int idx = BloomFilter.index(combined, size);
+            if ((words.get(idx >>> 6) & (1L << idx)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按位或合并另一个过滤器，合并后包含两者的元素。other 可以仍在被写入，合并不丢失 merge 开始前已完成的 add。
+     *
+     * @param other m、k 必须相同
+     */
+    public void merge(ConcurrentBloomFilter other) {
+        if (other.size != size || other.k != k) {
+            throw new IllegalArgumentException("incompatible filters: m=" + other.size + ", k=" + other.k
+                + " vs m=" + size + ", k=" + k);
+        }
+        for (int i = 0; i < words.length(); i++) {
+            long bits = other.words.get(i);
+            for (; ; ) {
+                long old = words.get(i);
+                if ((old | bits) == old || words.compareAndSet(i, old, old | bits)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 按置位个数 X 估算元素个数：n ≈ -m / k * ln(1 - X / m)，需要遍历位数组
+     *
+     * @return
+     */
+    public long approximateCount() {
+        long ones = 0;
+        for (int i = 0; i < words.length(); i++) {
+            ones += Long.bitCount(words.get(i));
+        }
+        if (ones == size) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-(double) size / k * Math.log(1 - (double) ones / size));
+    }
+
+    public int bitSize() {
+        return size;
+    }
+
+    public int hashCount() {
+        return k;
+    }
+}
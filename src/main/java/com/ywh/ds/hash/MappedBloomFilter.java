@@ -0,0 +1,144 @@
+package com.ywh.ds.hash;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 直接映射 BloomFilter 快照文件的布隆过滤器
+ *
+ * BloomFilter.readFrom 需要把整个位数组读到堆上。这里把快照文件映射为 MappedByteBuffer，查询时按绝对位置读取位数组：
+ * 1. 打开只需校验头部，与位数组大小无关，页在首次访问时才由操作系统载入；
+ * 2. 只读打开时多个进程映射同一个文件，共享操作系统的页缓存；
+ * 3. 可写打开时 add 直接修改映射区域，force 或 close 时写回元素个数并刷盘。
+ *
+ * 哈希（AbstractBloomFilter）与下标计算（BloomFilter.index）都与 BloomFilter 共用，文件格式见 BloomFilter。add 非线程安全；只读打开时多个线程可以并发 contains。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class MappedBloomFilter extends AbstractBloomFilter implements Closeable {
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final boolean writable;
+
+    private final int size;
+
+    private final int k;
+
+    private final long expectedInsertions;
+
+    private long count;
+
+    /**
+     * @param path     BloomFilter.writeTo 写入的快照文件
+     * @param writable 是否允许 add
+     * @throws IOException 文件格式不正确
+     */
+    public MappedBloomFilter(Path path, boolean writable) throws IOException {
+        this.channel = writable ? FileChannel.open(path, READ, WRITE) : FileChannel.open(path, READ);
+        try {
+            long fileSize = channel.size();
+            this.buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            BloomFilter.checkHeader(buffer, fileSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.writable = writable;
+        this.size = (int) buffer.getLong(BloomFilter.SIZE_OFFSET);
+        this.k = buffer.getInt(BloomFilter.K_OFFSET);
+        this.expectedInsertions = buffer.getLong(BloomFilter.EXPECTED_OFFSET);
+        this.count = buffer.getLong(BloomFilter.COUNT_OFFSET);
+    }
+
+    @Override
+    boolean add(long h1, long h2) {
+        if (!writable) {
+            throw new UnsupportedOperationException("opened read-only");
+        }
+        boolean changed = false;
+        long combined = h1;
+        for (int i = 0; i < k; i++, combined += h2) {
+            int idx = BloomFilter.index(combined, size);
+            int offset = BloomFilter.HEADER_BYTES + (idx >>> 6 << 3);
+            long word = buffer.getLong(offset), mask = 1L << idx;
+            if ((word & mask) == 0) {
+                buffer.putLong(offset, word | mask);
+                changed = true;
+            }
+        }
+        if (changed) {
+            count++;
+        }
+        return changed;
+    }
+
+    @Override
+    boolean contains(long h1, long h2) {
+        long combined = h1;
+        for (int i = 0; i < k; i++, combined += h2) {
+            int idx = BloomFilter.index(combined, size);
+            if ((buffer.getLong(BloomFilter.HEADER_BYTES + (idx >>> 6 << 3)) & (1L << idx)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按当前元素个数估算的误判率：(1 - e^(-kn/m))^k
+     *
+     * @return
+     */
+    public double expectedFpp() {
+        return ErrorPredict.getErrorStand(count, k, size);
+    }
+
+    public boolean isSaturated() {
+        return count >= expectedInsertions;
+    }
+
+    public long approximateCount() {
+        return count;
+    }
+
+    public int bitSize() {
+        return size;
+    }
+
+    public int hashCount() {
+        return k;
+    }
+
+    /**
+     * 可写打开时写回元素个数，并把修改刷到文件
+     */
+    public void force() {
+        if (writable) {
+            buffer.putLong(BloomFilter.COUNT_OFFSET, count);
+            buffer.force();
+        }
+    }
+
+    /**
+     * 刷盘并关闭文件；映射区域随缓冲区被回收而释放
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
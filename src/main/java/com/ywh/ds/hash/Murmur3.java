@@ -0,0 +1,183 @@
+package com.ywh.ds.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * MurmurHash3 x64 128 位哈希（Austin Appleby）
+ *
+ * 每 16 字节（两个小端 long）为一块，两路分别乘常数、循环左移后混入 h1、h2；剩余不足 16 字节按小端拼成 k1、k2 混入；
+ * 最后与长度异或并做 fmix 雪崩。结果写入 out[0]、out[1]，不分配对象。
+ *
+ * String 按 UTF-16 字符（每个字符两字节，小端）直接哈希，不做编码转换，与 Guava 的 putUnencodedChars 一致。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public final class Murmur3 {
+
+    private static final long C1 = 0x87c37b91114253d5L, C2 = 0x4cf5ad432745937fL;
+
+    private Murmur3() {
+    }
+
+    /**
+     * @param data
+     * @param off
+     * @param len
+     * @param seed
+     * @param out  长度至少为 2，写入 h1、h2
+     */
+    public static void hash128(byte[] data, int off, int len, int seed, long[] out) {
+        long h1 = seed & 0xffffffffL, h2 = h1;
+        int blocks = len >>> 4, i = off;
+        for (int b = 0; b < blocks; b++, i += 16) {
+            long k1 = getLongLE(data, i), k2 = getLongLE(data, i + 8);
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        long k1 = 0, k2 = 0;
+        int rem = len & 15;
+        for (int j = rem - 1; j >= 8; j--) {
+            k2 = k2 << 8 | (data[i + j] & 0xff);
+        }
+        for (int j = Math.min(rem, 8) - 1; j >= 0; j--) {
+            k1 = k1 << 8 | (data[i + j] & 0xff);
+        }
+        finish(h1, h2, k1, k2, len, out);
+    }
+
+    public static void hash128(byte[] data, int seed, long[] out) {
+        hash128(data, 0, data.length, seed, out);
+    }
+
+    /**
+     * 哈希 position 到 limit 之间的字节，不改变 position
+     *
+     * @param buf
+     * @param seed
+     * @param out
+     */
+    public static void hash128(ByteBuffer buf, int seed, long[] out) {
+        if (buf.hasArray()) {
+            hash128(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining(), seed, out);
+            return;
+        }
+        boolean swap = buf.order() != ByteOrder.LITTLE_ENDIAN;
+        int len = buf.remaining(), i = buf.position();
+        long h1 = seed & 0xffffffffL, h2 = h1;
+        for (int b = len >>> 4; b > 0; b--, i += 16) {
+            long k1 = buf.getLong(i), k2 = buf.getLong(i + 8);
+            if (swap) {
+                k1 = Long.reverseBytes(k1);
+                k2 = Long.reverseBytes(k2);
+            }
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        long k1 = 0, k2 = 0;
+        int rem = len & 15;
+        for (int j = rem - 1; j >= 8; j--) {
+            k2 = k2 << 8 | (buf.get(i + j) & 0xff);
+        }
+        for (int j = Math.min(rem, 8) - 1; j >= 0; j--) {
+            k1 = k1 << 8 | (buf.get(i + j) & 0xff);
+        }
+        finish(h1, h2, k1, k2, len, out);
+    }
+
+    /**
+     * 等价于哈希 key 的 8 个小端字节
+     *
+     * @param key
+     * @param seed
+     * @param out
+     */
+    public static void hash128(long key, int seed, long[] out) {
+        long h = seed & 0xffffffffL;
+        finish(h, h, key, 0, 8, out);
+    }
+
+    /**
+     * 等价于哈希每个字符的 2 个小端字节
+     *
+     * @param s
+     * @param seed
+     * @param out
+     */
+    public static void hash128(CharSequence s, int seed, long[] out) {
+        int n = s.length(), i = 0;
+        long h1 = seed & 0xffffffffL, h2 = h1;
+        for (; i + 8 <= n; i += 8) {
+            long k1 = chars(s, i, 4), k2 = chars(s, i + 4, 4);
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        int rem = n - i;
+        long k1 = chars(s, i, Math.min(rem, 4)), k2 = rem > 4 ? chars(s, i + 4, rem - 4) : 0;
+        finish(h1, h2, k1, k2, (long) n << 1, out);
+    }
+
+    /**
+     * 从 from 开始的 count 个字符按小端拼成 long
+     */
+    private static long chars(CharSequence s, int from, int count) {
+        long k = 0;
+        for (int j = count - 1; j >= 0; j--) {
+            k = k << 16 | s.charAt(from + j);
+        }
+        return k;
+    }
+
+    private static long getLongLE(byte[] b, int i) {
+        return (b[i] & 0xffL) | (b[i + 1] & 0xffL) << 8 | (b[i + 2] & 0xffL) << 16 | (b[i + 3] & 0xffL) << 24
+            | (b[i + 4] & 0xffL) << 32 | (b[i + 5] & 0xffL) << 40 | (b[i + 6] & 0xffL) << 48 | (b[i + 7] & 0xffL) << 56;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    /**
+     * 混入尾部（不足 16 字节，k 为 0 时混入不改变结果）并做最终雪崩
+     */
+    private static void finish(long h1, long h2, long k1, long k2, long len, long[] out) {
+        h2 ^= mixK2(k2);
+        h1 ^= mixK1(k1);
+        h1 ^= len;
+        h2 ^= len;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        out[0] = h1;
+        out[1] = h2;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ywh.ds.hash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 可扩展布隆过滤器（Almeida et al., Scalable Bloom Filters）
+ *
+ * 单个 BloomFilter 的元素个数超过预计值后误判率持续上升。这里维护一组 BloomFilter：
+ * 1. 只向最后一个过滤器插入，它饱和（元素个数达到预计值）后追加一个新的过滤器；
+ * 2. 第 i 个过滤器的预计元素个数为 initialCapacity * 2^i，期望误判率为 p0 * r^i（r = 0.9），
+ *    总误判率不超过 p0 / (1 - r)，取 p0 = fpp * (1 - r) 即可保证总误判率不超过 fpp；
+ * 3. 查询时依次查询每个过滤器，任一命中即认为存在。
+ *
+ * 指定 maxBits 时，追加新过滤器会超出内存上限则不再插入（add 返回 false），误判率仍不超过 fpp。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class ScalableBloomFilter extends AbstractBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+
+    private static final double TIGHTENING_RATIO = 0.9;
+
+    private final List<BloomFilter> filters = new ArrayList<>();
+
+    private final double fpp;
+
+    private final long maxBits;
+
+    private long allocatedBits = 0;
+
+    /**
+     * 下一个过滤器的预计元素个数、期望误判率
+     */
+    private long nextCapacity;
+
+    private double nextFpp;
+
+    /**
+     * @param initialCapacity 第一个过滤器的预计元素个数
+     * @param fpp             总期望误判率
+     */
+    public ScalableBloomFilter(long initialCapacity, double fpp) {
+        this(initialCapacity, fpp, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param initialCapacity 第一个过滤器的预计元素个数
+     * @param fpp             总期望误判率
+     * @param maxBits         所有过滤器比特位数之和的上限
+     */
+    public ScalableBloomFilter(long initialCapacity, double fpp, long maxBits) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1)");
+        }
+        this.fpp = fpp;
+        this.maxBits = maxBits;
+        this.nextCapacity = initialCapacity;
+        this.nextFpp = fpp * (1 - TIGHTENING_RATIO);
+        if (!grow()) {
+            throw new IllegalArgumentException("maxBits is too small for the first filter");
+        }
+    }
+
+    /**
+     * 添加数据
+     *
+     * @param value
+     * @return 已添加（或可能已存在）返回 true；需要追加过滤器但超出内存上限时返回 false
+     */
+    @Override
+    public boolean add(String value) {
+        return value == null || super.add(value);
+    }
+
+    /**
+     * 元素只哈希一次，各过滤器用同一对 h1、h2 计算下标
+     */
+    @Override
+    boolean add(long h1, long h2) {
+        if (contains(h1, h2)) {
+            return true;
+        }
+        BloomFilter last = filters.get(filters.size() - 1);
+        if (last.isSaturated()) {
+            if (!grow()) {
+                return false;
+            }
+            last = filters.get(filters.size() - 1);
+        }
+        last.add(h1, h2);
+        return true;
+    }
+
+    @Override
+    boolean contains(long h1, long h2) {
+        // 新的过滤器元素更多，从后往前查
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            if (filters.get(i).contains(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按当前元素个数估算的总误判率：1 - ∏(1 - p_i)
+     *
+     * @return
+     */
+    public double expectedFpp() {
+        double none = 1;
+        for (BloomFilter filter : filters) {
+            none *= 1 - filter.expectedFpp();
+        }
+        return 1 - none;
+    }
+
+    public double targetFpp() {
+        return fpp;
+    }
+
+    public long approximateCount() {
+        long n = 0;
+        for (BloomFilter filter : filters) {
+            n += filter.approximateCount();
+        }
+        return n;
+    }
+
+    /**
+     * 所有过滤器的比特位数之和
+     *
+     * @return
+     */
+    public long bitSize() {
+        return allocatedBits;
+    }
+
+    public int filterCount() {
+        return filters.size();
+    }
+
+    /**
+     * 追加一个过滤器：单个过滤器不超过 BloomFilter.MAX_SIZE 位，超出时缩小其预计元素个数
+     *
+     * @return 超出内存上限时返回 false
+     */
+    private boolean grow() {
+        long capacity = nextCapacity;
+        long maxCapacity = (long) (BloomFilter.MAX_SIZE * Math.log(2) * Math.log(2) / -Math.log(nextFpp));
+        if (capacity > maxCapacity) {
+            capacity = Math.max(1, maxCapacity);
+        }
+        int bits = BloomFilter.sizeFor(capacity, nextFpp);
+        if (allocatedBits + bits > maxBits) {
+            return false;
+        }
+        filters.add(new BloomFilter(capacity, nextFpp));
+        allocatedBits += bits;
+        nextCapacity = capacity * GROWTH_FACTOR;
+        nextFpp *= TIGHTENING_RATIO;
+        return true;
+    }
+}
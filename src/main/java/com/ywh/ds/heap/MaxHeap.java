@@ -73,6 +73,39 @@ public class MaxHeap {
         throw new RuntimeException();
     }
 
+    /**
+     * 用 val 替换最大元素后堆化，比 removeMax + insert 少一次上浮
+     *
+     * @param val
+     */
+    public void replaceMax(int val) {
+        if (count == 0) {
+            throw new RuntimeException();
+        }
+        a[1] = val;
+        heapify(count, 1);
+    }
+
+    /**
+     * 堆当前元素个数
+     *
+     * @return
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * 按堆数组顺序返回所有元素的拷贝
+     *
+     * @return
+     */
+    public int[] toArray() {
+        int[] ret = new int[count];
+        System.arraycopy(a, 1, ret, 0, count);
+        return ret;
+    }
+
     /**
      * 堆化
      *
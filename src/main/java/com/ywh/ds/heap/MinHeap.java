@@ -46,9 +46,9 @@ public class MinHeap {
     }
 
     /**
-     * 删除最大元素
+     * 删除最小元素
      */
-    public void removeMax() {
+    public void removeMin() {
         if (count == 0) {
             throw new RuntimeException();
         }
@@ -57,17 +57,68 @@ public class MinHeap {
     }
 
     /**
-     * 取最大元素
+     * 取最小元素
      *
      * @return
      */
-    public int getMax() {
+    public int getMin() {
         if (count > 0) {
             return a[1];
         }
         throw new RuntimeException();
     }
 
+    /**
+     * 用 val 替换最小元素后堆化，比 removeMin + insert 少一次上浮
+     *
+     * @param val
+     */
+    public void replaceMin(int val) {
+        if (count == 0) {
+            throw new RuntimeException();
+        }
+        a[1] = val;
+        heapify(count, 1);
+    }
+
+    /**
+     * @deprecated 最小堆删除的是最小元素，使用 {@link #removeMin()}
+     */
+    @Deprecated
+    public void removeMax() {
+        removeMin();
+    }
+
+    /**
+     * @deprecated 最小堆取的是最小元素，使用 {@link #getMin()}
+     *
+     * @return
+     */
+    @Deprecated
+    public int getMax() {
+        return getMin();
+    }
+
+    /**
+     * 堆当前元素个数
+     *
+     * @return
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * 按堆数组顺序返回所有元素的拷贝
+     *
+     * @return
+     */
+    public int[] toArray() {
+        int[] ret = new int[count];
+        System.arraycopy(a, 1, ret, 0, count);
+        return ret;
+    }
+
     /**
      * 堆化
      *
@@ -80,7 +131,7 @@ public class MinHeap {
             if (i * 2 <= n && a[i] > a[i * 2]) {
                 minPos = i * 2;
             }
-            if (i * 2 + 1 <= n && a[i] > a[i * 2 + 1]) {
+            if (i * 2 + 1 <= n && a[minPos] > a[i * 2 + 1]) {
                 minPos = i * 2 + 1;
             }
             if (minPos == i) {
@@ -0,0 +1,148 @@
+package com.ywh.ds.heap;
+
+import com.ywh.ds.sorting.QuickSort;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+
+/**
+ * 流式 Top-K：逐个接收元素，只保留最大（或最小）的 k 个
+ *
+ * 求最大的 k 个使用大小为 k 的最小堆，堆顶是当前第 k 大的元素，新元素比堆顶大时替换堆顶；求最小的 k 个反之使用最大堆。
+ * Time: O(n*log(k)), Space: O(k)
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class TopK {
+
+    private final int k;
+
+    /**
+     * 二者只有一个非空
+     */
+    private final MinHeap minHeap;
+
+    private final MaxHeap maxHeap;
+
+    private TopK(int k, boolean largest) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.minHeap = largest ? new MinHeap(k) : null;
+        this.maxHeap = largest ? null : new MaxHeap(k);
+    }
+
+    /**
+     * 保留最大的 k 个元素
+     *
+     * @param k
+     * @return
+     */
+    public static TopK largest(int k) {
+        return new TopK(k, true);
+    }
+
+    /**
+     * 保留最小的 k 个元素
+     *
+     * @param k
+     * @return
+     */
+    public static TopK smallest(int k) {
+        return new TopK(k, false);
+    }
+
+    /**
+     * 接收一个元素
+     *
+     * @param val
+     */
+    public void offer(int val) {
+        if (minHeap != null) {
+            if (minHeap.count() < k) {
+                minHeap.insert(val);
+            } else if (val > minHeap.getMin()) {
+                minHeap.replaceMin(val);
+            }
+        } else {
+            if (maxHeap.count() < k) {
+                maxHeap.insert(val);
+            } else if (val < maxHeap.getMax()) {
+                maxHeap.replaceMax(val);
+            }
+        }
+    }
+
+    /**
+     * 接收迭代器中的所有元素
+     *
+     * @param it
+     */
+    public void offerAll(PrimitiveIterator.OfInt it) {
+        while (it.hasNext()) {
+            offer(it.nextInt());
+        }
+    }
+
+    /**
+     * 接收迭代器中的所有元素
+     *
+     * @param it
+     */
+    public void offerAll(Iterator<Integer> it) {
+        if (it instanceof PrimitiveIterator.OfInt) {
+            offerAll((PrimitiveIterator.OfInt) it);
+            return;
+        }
+        while (it.hasNext()) {
+            offer(it.next());
+        }
+    }
+
+    /**
+     * @param arr
+     */
+    public void offerAll(int[] arr) {
+        for (int num : arr) {
+            offer(num);
+        }
+    }
+
+    /**
+     * 当前保留的元素个数（不超过 k）
+     *
+     * @return
+     */
+    public int size() {
+        return minHeap != null ? minHeap.count() : maxHeap.count();
+    }
+
+    /**
+     * 当前的第 k 大（或第 k 小）元素，即堆顶
+     *
+     * @return
+     */
+    public int peek() {
+        return minHeap != null ? minHeap.getMin() : maxHeap.getMax();
+    }
+
+    /**
+     * 返回保留的元素，最大的 k 个按降序、最小的 k 个按升序排列，不影响后续接收
+     *
+     * @return
+     */
+    public int[] toSortedArray() {
+        int[] ret = minHeap != null ? minHeap.toArray() : maxHeap.toArray();
+        new QuickSort().introSort(ret);
+        if (minHeap != null) {
+            for (int i = 0, j = ret.length - 1; i < j; i++, j--) {
+                int tmp = ret[i];
+                ret[i] = ret[j];
+                ret[j] = tmp;
+            }
+        }
+        return ret;
+    }
+}
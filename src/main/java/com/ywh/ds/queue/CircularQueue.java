@@ -1,63 +1,226 @@
 package com.ywh.ds.queue;
 
+import java.util.Arrays;
+
 /**
- * 循环队列
- * 队满条件：(tail + 1) % n == head
- * 队空条件：head == tail
- * 元素入队：tail = (tail + 1) % n
- * 元素出队：head = (head + 1) % n
- * 元素个数：head - tail
+ * 循环队列（双端）
+ * 数组长度为 2 的幂，下标用位与代替取模：idx & mask == idx % n
+ * 队首下标：head，队尾下标：(head + count - 1) & mask
+ * 元素入队：array[(head + count) & mask] = val, count++
+ * 元素出队：head = (head + 1) & mask, count--
+ *
+ * 固定容量模式下队满时抛出异常；可扩容模式下队满时数组长度翻倍，按队列顺序拷贝到新数组的开头。
  *
  * @author ywh
  * @since 2020/10/29/029
  */
 public class CircularQueue<T> implements Queue<T> {
 
-    private final Object[] array;
+    private static final int DEFAULT_CAPACITY = 16, MAX_CAPACITY = 1 << 30;
+
+    private Object[] array;
 
-    private final int n;
+    private int mask;
 
     private int head = 0;
 
-    private int tail = 0;
+    private int count = 0;
+
+    /**
+     * 固定容量模式下的最大元素个数
+     */
+    private final int capacity;
+
+    private final boolean growable;
+
+    /**
+     * 可扩容模式
+     */
+    public CircularQueue() {
+        this(DEFAULT_CAPACITY, true);
+    }
 
+    /**
+     * 固定容量模式
+     *
+     * @param capacity
+     */
     public CircularQueue(int capacity) {
-        array = new Object[capacity];
-        n = capacity;
+        this(capacity, false);
+    }
+
+    /**
+     * @param capacity 固定容量模式下为最大元素个数，可扩容模式下为初始容量
+     * @param growable
+     */
+    public CircularQueue(int capacity, boolean growable) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be in (0, 2^30]");
+        }
+        int n = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.array = new Object[n];
+        this.mask = n - 1;
+        this.capacity = capacity;
+        this.growable = growable;
     }
 
     /**
-     * 入队
+     * 入队（队尾）
      *
      * @param item
-     * @return
      */
     @Override
     public void enqueue(T item) {
-        if ((tail + 1) % n == head) {
-            throw new RuntimeException();
-        }
-        array[tail] = item;
-        tail = (tail + 1) % n;
+        addLast(item);
     }
 
     /**
-     * 出队
+     * 出队（队首）
      *
      * @return
      */
     @Override
     public T dequeue() {
-        if (head == tail) {
-            throw new RuntimeException();
+        return removeFirst();
+    }
+
+    public void addLast(T item) {
+        ensureCapacity(count + 1);
+        array[(head + count) & mask] = item;
+        count++;
+    }
+
+    public void addFirst(T item) {
+        ensureCapacity(count + 1);
+        head = (head - 1) & mask;
+        array[head] = item;
+        count++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T removeFirst() {
+        if (count == 0) {
+            throw new RuntimeException("queue is empty");
         }
         T ret = (T) array[head];
-        head = (head + 1) % n;
+        array[head] = null;
+        head = (head + 1) & mask;
+        count--;
         return ret;
     }
 
+    @SuppressWarnings("unchecked")
+    public T removeLast() {
+        if (count == 0) {
+            throw new RuntimeException("queue is empty");
+        }
+        int idx = (head + count - 1) & mask;
+        T ret = (T) array[idx];
+        array[idx] = null;
+        count--;
+        return ret;
+    }
+
+    /**
+     * @return 队空时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public T peekFirst() {
+        return count == 0 ? null : (T) array[head];
+    }
+
+    /**
+     * @return 队空时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public T peekLast() {
+        return count == 0 ? null : (T) array[(head + count - 1) & mask];
+    }
+
+    /**
+     * 批量入队：全部入队，或（固定容量模式下放不下时）一个都不入队并抛出异常
+     * 最多两次 System.arraycopy（队尾到数组末尾、数组开头）。
+     *
+     * @param items
+     */
+    public void enqueueAll(T[] items) {
+        int n = items.length;
+        ensureCapacity(count + n);
+        int tail = (head + count) & mask, first = Math.min(n, array.length - tail);
+        System.arraycopy(items, 0, array, tail, first);
+        System.arraycopy(items, first, array, 0, n - first);
+        count += n;
+    }
+
+    /**
+     * 批量出队：取出 min(dst.length, size()) 个元素，按出队顺序写入 dst
+     *
+     * @param dst
+     * @return 取出的元素个数
+     */
+    public int dequeueBatch(T[] dst) {
+        int n = Math.min(dst.length, count), first = Math.min(n, array.length - head);
+        System.arraycopy(array, head, dst, 0, first);
+        System.arraycopy(array, 0, dst, first, n - first);
+        clearRange(head, n);
+        head = (head + n) & mask;
+        count -= n;
+        return n;
+    }
+
+    /**
+     * 元素个数
+     *
+     * @return
+     */
     @Override
     public int size() {
-        return n;
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void clear() {
+        clearRange(head, count);
+        head = count = 0;
+    }
+
+    /**
+     * 释放从 from 开始的 n 个槽位的引用
+     *
+     * @param from
+     * @param n
+     */
+    private void clearRange(int from, int n) {
+        int first = Math.min(n, array.length - from);
+        Arrays.fill(array, from, from + first, null);
+        Arrays.fill(array, 0, n - first, null);
+    }
+
+    /**
+     * 确保能容纳 required 个元素：固定容量模式下超出则抛出异常，可扩容模式下数组长度翻倍直到足够
+     *
+     * @param required
+     */
+    private void ensureCapacity(int required) {
+        if (required <= array.length && (growable || required <= capacity)) {
+            return;
+        }
+        if (!growable || required > MAX_CAPACITY || required < 0) {
+            throw new RuntimeException("queue is full");
+        }
+        int n = array.length;
+        while (n < required) {
+            n <<= 1;
+        }
+        Object[] grown = new Object[n];
+        int first = Math.min(count, array.length - head);
+        System.arraycopy(array, head, grown, 0, first);
+        System.arraycopy(array, 0, grown, first, count - first);
+        array = grown;
+        mask = n - 1;
+        head = 0;
     }
 }
@@ -0,0 +1,156 @@
+package com.ywh.ds.queue;
+
+/**
+ * long 循环队列，元素不装箱
+ * 数组长度为 2 的幂，下标用位与代替取模，实现与 CircularQueue 相同。
+ *
+ * 固定容量模式下队满时抛出异常；可扩容模式下队满时数组长度翻倍。适合时间戳、编号等 long 值的缓冲。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class LongCircularQueue {
+
+    private static final int DEFAULT_CAPACITY = 16, MAX_CAPACITY = 1 << 30;
+
+    private long[] array;
+
+    private int mask;
+
+    private int head = 0;
+
+    private int count = 0;
+
+    /**
+     * 固定容量模式下的最大元素个数
+     */
+    private final int capacity;
+
+    private final boolean growable;
+
+    /**
+     * 可扩容模式
+     */
+    public LongCircularQueue() {
+        this(DEFAULT_CAPACITY, true);
+    }
+
+    /**
+     * @param capacity 固定容量模式下为最大元素个数，可扩容模式下为初始容量
+     * @param growable
+     */
+    public LongCircularQueue(int capacity, boolean growable) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be in (0, 2^30]");
+        }
+        int n = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.array = new long[n];
+        this.mask = n - 1;
+        this.capacity = capacity;
+        this.growable = growable;
+    }
+
+    /**
+     * 入队（队尾）
+     *
+     * @param val
+     */
+    public void enqueue(long val) {
+        ensureCapacity(count + 1);
+        array[(head + count) & mask] = val;
+        count++;
+    }
+
+    /**
+     * 出队（队首）
+     *
+     * @return
+     */
+    public long dequeue() {
+        if (count == 0) {
+            throw new RuntimeException("queue is empty");
+        }
+        long ret = array[head];
+        head = (head + 1) & mask;
+        count--;
+        return ret;
+    }
+
+    /**
+     * 队首元素
+     *
+     * @return
+     */
+    public long peek() {
+        if (count == 0) {
+            throw new RuntimeException("queue is empty");
+        }
+        return array[head];
+    }
+
+    /**
+     * 批量入队：全部入队，或（固定容量模式下放不下时）一个都不入队并抛出异常
+     *
+     * @param vals
+     */
+    public void enqueueAll(long[] vals) {
+        int n = vals.length;
+        ensureCapacity(count + n);
+        int tail = (head + count) & mask, first = Math.min(n, array.length - tail);
+        System.arraycopy(vals, 0, array, tail, first);
+        System.arraycopy(vals, first, array, 0, n - first);
+        count += n;
+    }
+
+    /**
+     * 批量出队：取出 min(dst.length, size()) 个元素，按出队顺序写入 dst
+     *
+     * @param dst
+     * @return 取出的元素个数
+     */
+    public int dequeueBatch(long[] dst) {
+        int n = Math.min(dst.length, count), first = Math.min(n, array.length - head);
+        System.arraycopy(array, head, dst, 0, first);
+        System.arraycopy(array, 0, dst, first, n - first);
+        head = (head + n) & mask;
+        count -= n;
+        return n;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void clear() {
+        head = count = 0;
+    }
+
+    /**
+     * 确保能容纳 required 个元素：固定容量模式下超出则抛出异常，可扩容模式下数组长度翻倍直到足够
+     *
+     * @param required
+     */
+    private void ensureCapacity(int required) {
+        if (required <= array.length && (growable || required <= capacity)) {
+            return;
+        }
+        if (!growable || required > MAX_CAPACITY || required < 0) {
+            throw new RuntimeException("queue is full");
+        }
+        int n = array.length;
+        while (n < required) {
+            n <<= 1;
+        }
+        long[] grown = new long[n];
+        int first = Math.min(count, array.length - head);
+        System.arraycopy(array, head, grown, 0, first);
+        System.arraycopy(array, 0, grown, first, count - first);
+        array = grown;
+        mask = n - 1;
+        head = 0;
+    }
+}
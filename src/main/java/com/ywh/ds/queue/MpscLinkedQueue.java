@@ -0,0 +1,122 @@
+package com.ywh.ds.queue;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 多生产者单消费者无锁链队列（Dmitry Vyukov 的 MPSC node-based queue）
+ *
+ * 1. 入队：生产者用一次原子交换（getAndSet）把新节点设为 tail，再把旧 tail 的 next 指向新节点。生产者之间只竞争这一次交换，
+ *    不需要 CAS 重试，入队是 wait-free 的；
+ * 2. 出队：只有消费者访问 head（哨兵节点），head.next 不为空时取出其值，并让它成为新的哨兵，无需同步；
+ * 3. 交换之后、链接之前的短暂时刻，新节点对消费者不可见。此时 tail != head 而 head.next 为空，消费者自旋等待链接完成，
+ *    因此队空的判断是准确的。
+ *
+ * 每个元素分配一个节点，适合元素个数不确定、生产者较多的场景；生产者、消费者固定为一个时使用 SpscArrayQueue。
+ * 与其他 Queue 实现一致，dequeue 队空时抛出异常；poll 为不抛异常的版本。不允许 null 元素。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class MpscLinkedQueue<T> implements Queue<T> {
+
+    private final AtomicReference<Node<T>> tail;
+
+    /**
+     * 哨兵节点，只由消费者访问
+     */
+    private Node<T> head;
+
+    public MpscLinkedQueue() {
+        Node<T> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * 入队，可由多个生产者线程并发调用
+     *
+     * @param val
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void enqueue(T val) {
+        if (val == null) {
+            throw new NullPointerException();
+        }
+        Node<T> node = new Node<>(val);
+        Node<T> prev = tail.getAndSet(node);
+        Node.NEXT.lazySet(prev, node);
+    }
+
+    /**
+     * 出队，只能由消费者线程调用
+     *
+     * @return 队空时返回 null
+     */
+    public T poll() {
+        Node<T> next = head.next;
+        if (next == null) {
+            if (tail.get() == head) {
+                return null;
+            }
+            // 生产者已交换 tail 但尚未链接，等待链接完成
+            while ((next = head.next) == null) {
+                Thread.yield();
+            }
+        }
+        T val = next.val;
+        next.val = null;
+        head = next;
+        return val;
+    }
+
+    @Override
+    public T dequeue() {
+        T val = poll();
+        if (val == null) {
+            throw new RuntimeException("queue is empty");
+        }
+        return val;
+    }
+
+    /**
+     * 元素个数，需要遍历链表，O(n)，只能由消费者线程调用
+     *
+     * @return
+     */
+    @Override
+    public int size() {
+        int n = 0;
+        Node<T> last = tail.get();
+        for (Node<T> node = head; node != last; ) {
+            Node<T> next = node.next;
+            if (next == null) {
+                // 尚未链接的节点也计入
+                Thread.yield();
+                continue;
+            }
+            node = next;
+            n++;
+        }
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    private static final class Node<T> {
+
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<Node, Node> NEXT = AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        T val;
+
+        volatile Node<T> next;
+
+        Node(T val) {
+            this.val = val;
+        }
+    }
+}
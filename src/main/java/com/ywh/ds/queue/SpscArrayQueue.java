@@ -0,0 +1,180 @@
+package com.ywh.ds.queue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 单生产者单消费者循环队列（Lamport 环形缓冲区 + FastFlow 式缓存下标）
+ *
+ * 只有一个线程入队、一个线程出队时，tail 只由生产者写、head 只由消费者写，不需要 CAS，入队出队都是 wait-free：
+ * 1. 生产者写入元素后有序写 tail 发布，消费者读到新的 tail 后即可看到元素；消费者取出元素后有序写 head 归还槽位；
+ * 2. 生产者缓存上次读到的 head（headCache），只有按缓存看来队满时才重新读 head；消费者同样缓存 tail。
+ *    大部分操作只访问本线程写的缓存行，不与对端争用；
+ * 3. 生产者的字段（tail、headCache）与消费者的字段（head、tailCache）各自填充到独立的缓存行，
+ *    与只读的 buffer、mask 也隔开。与 PaddedSequence 一样用继承关系固定字段顺序（父类字段排在子类字段之前）。
+ *
+ * 与其他 Queue 实现一致，enqueue 队满、dequeue 队空时抛出异常；offer / poll 为不抛异常的版本。不允许 null 元素。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class SpscArrayQueue<T> extends SpscConsumerFields implements Queue<T> {
+
+    protected long p30, p31, p32, p33, p34, p35, p36, p37;
+
+    /**
+     * @param capacity 容量，向上取 2 的幂
+     */
+    public SpscArrayQueue(int capacity) {
+        super(roundUp(capacity));
+    }
+
+    private static int roundUp(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in (0, 2^30]");
+        }
+        return Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+    }
+
+    /**
+     * 入队，只能由生产者线程调用
+     *
+     * @param val
+     * @return 队满时返回 false
+     */
+    public boolean offer(T val) {
+        if (val == null) {
+            throw new NullPointerException();
+        }
+        long t = tail;
+        if (t - headCache > mask) {
+            headCache = head;
+            if (t - headCache > mask) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = val;
+        TAIL.lazySet(this, t + 1);
+        return true;
+    }
+
+    /**
+     * 出队，只能由消费者线程调用
+     *
+     * @return 队空时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = tail;
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        int idx = (int) h & mask;
+        T val = (T) buffer[idx];
+        buffer[idx] = null;
+        HEAD.lazySet(this, h + 1);
+        return val;
+    }
+
+    @Override
+    public void enqueue(T val) {
+        if (!offer(val)) {
+            throw new RuntimeException("queue is full");
+        }
+    }
+
+    @Override
+    public T dequeue() {
+        T val = poll();
+        if (val == null) {
+            throw new RuntimeException("queue is empty");
+        }
+        return val;
+    }
+
+    /**
+     * 元素个数（并发修改时为近似值）
+     *
+     * @return
+     */
+    @Override
+    public int size() {
+        long h = head, t = tail;
+        return (int) Math.max(0, t - h);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
+
+abstract class SpscLhsPadding {
+    protected long p0, p1, p2, p3, p4, p5, p6, p7;
+}
+
+/**
+ * 只读字段，生产者、消费者共享
+ */
+abstract class SpscBufferFields extends SpscLhsPadding {
+
+    protected final Object[] buffer;
+
+    protected final int mask;
+
+    SpscBufferFields(int n) {
+        this.buffer = new Object[n];
+        this.mask = n - 1;
+    }
+}
+
+abstract class SpscProducerPadding extends SpscBufferFields {
+
+    protected long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    SpscProducerPadding(int n) {
+        super(n);
+    }
+}
+
+/**
+ * 生产者写的字段：下一个写入位置、缓存的 head
+ */
+abstract class SpscProducerFields extends SpscProducerPadding {
+
+    static final AtomicLongFieldUpdater<SpscProducerFields> TAIL = AtomicLongFieldUpdater.newUpdater(SpscProducerFields.class, "tail");
+
+    protected volatile long tail;
+
+    protected long headCache;
+
+    SpscProducerFields(int n) {
+        super(n);
+    }
+}
+
+abstract class SpscConsumerPadding extends SpscProducerFields {
+
+    protected long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    SpscConsumerPadding(int n) {
+        super(n);
+    }
+}
+
+/**
+ * 消费者写的字段：下一个读取位置、缓存的 tail
+ */
+abstract class SpscConsumerFields extends SpscConsumerPadding {
+
+    static final AtomicLongFieldUpdater<SpscConsumerFields> HEAD = AtomicLongFieldUpdater.newUpdater(SpscConsumerFields.class, "head");
+
+    protected volatile long head;
+
+    protected long tailCache;
+
+    SpscConsumerFields(int n) {
+        super(n);
+    }
+}
@@ -0,0 +1,344 @@
+package com.ywh.ds.sorting;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 外部排序：对超过内存大小的定长 int / long 记录文件排序
+ * [排序] [分治]
+ *
+ * 1. 生成顺串：每次把 runRecords 条记录通过 MappedByteBuffer 读入内存，使用 RadixSort.parallelSort 排序，写入临时文件的相同位置；
+ * 2. 多路归并：把每个顺串映射为 MappedByteBuffer，使用败者树做 k 路归并，结果经缓冲区顺序写入输出文件。
+ *
+ * 内存占用约为 runRecords 条记录的两倍（排序辅助数组）加上输出缓冲区，顺串读取由操作系统页缓存负责。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class ExternalSort {
+
+    /**
+     * 默认每个顺串 2^24 条记录（int 64MB，long 128MB）
+     */
+    public static final int DEFAULT_RUN_RECORDS = 1 << 24;
+
+    /**
+     * 输出缓冲区大小
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 20;
+
+    private final int runRecords;
+
+    /**
+     * 临时文件目录，为 null 时使用系统默认临时目录
+     */
+    private final Path tmpDir;
+
+    /**
+     * 记录的字节序
+     */
+    private final ByteOrder order;
+
+    private final RadixSort radixSort = new RadixSort();
+
+    public ExternalSort() {
+        this(DEFAULT_RUN_RECORDS, null);
+    }
+
+    /**
+     * @param runRecords 每个顺串的记录数，即内存中一次排序的记录数
+     * @param tmpDir
+     */
+    public ExternalSort(int runRecords, Path tmpDir) {
+        this(runRecords, tmpDir, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * @param runRecords 每个顺串的记录数，即内存中一次排序的记录数
+     * @param tmpDir
+     * @param order
+     */
+    public ExternalSort(int runRecords, Path tmpDir, ByteOrder order) {
+        if (runRecords <= 0 || (long) runRecords * Long.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("runRecords must be in (0, " + Integer.MAX_VALUE / Long.BYTES + "]");
+        }
+        this.runRecords = runRecords;
+        this.tmpDir = tmpDir;
+        this.order = order;
+    }
+
+    /**
+     * 对 4 字节有符号整数记录文件排序
+     *
+     * @param input
+     * @param output
+     * @throws IOException
+     */
+    public void sortInts(Path input, Path output) throws IOException {
+        sort(input, output, Integer.BYTES);
+    }
+
+    /**
+     * 对 8 字节有符号整数记录文件排序
+     *
+     * @param input
+     * @param output
+     * @throws IOException
+     */
+    public void sortLongs(Path input, Path output) throws IOException {
+        sort(input, output, Long.BYTES);
+    }
+
+    /**
+     * @param input
+     * @param output
+     * @param width  记录宽度（字节）
+     * @throws IOException
+     */
+    private void sort(Path input, Path output, int width) throws IOException {
+        // 输出文件打开时即被截断，与输入相同则输入在读取前就被清空
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("input and output must be different files");
+        }
+        try (FileChannel in = FileChannel.open(input, READ);
+             FileChannel out = FileChannel.open(output, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            long size = in.size();
+            if (size % width != 0) {
+                throw new IllegalArgumentException("file size " + size + " is not a multiple of record width " + width);
+            }
+            long n = size / width;
+            if (n == 0) {
+                return;
+            }
+
+            // 只有一个顺串时直接写入输出文件
+            if (n <= runRecords) {
+                Writer writer = new Writer(out, order, width);
+                if (width == Integer.BYTES) {
+                    int[] buf = readInts(in, 0, (int) n);
+                    radixSort.parallelSort(buf);
+                    for (int num : buf) {
+                        writer.write(num);
+                    }
+                } else {
+                    long[] buf = readLongs(in, 0, (int) n);
+                    radixSort.parallelSort(buf);
+                    for (long num : buf) {
+                        writer.write(num);
+                    }
+                }
+                writer.flush();
+                return;
+            }
+
+            Path tmp = tmpDir == null ? Files.createTempFile("runs", ".tmp") : Files.createTempFile(tmpDir, "runs", ".tmp");
+            try (FileChannel runs = FileChannel.open(tmp, READ, WRITE)) {
+                int k = (int) ((n + runRecords - 1) / runRecords);
+                Run[] readers = new Run[k];
+                for (int r = 0; r < k; r++) {
+                    long start = (long) r * runRecords;
+                    int len = (int) Math.min(runRecords, n - start);
+                    long pos = start * width, bytes = (long) len * width;
+                    MappedByteBuffer mapped = runs.map(FileChannel.MapMode.READ_WRITE, pos, bytes);
+                    mapped.order(order);
+                    if (width == Integer.BYTES) {
+                        int[] buf = readInts(in, pos, len);
+                        radixSort.parallelSort(buf);
+                        mapped.asIntBuffer().put(buf);
+                        readers[r] = new IntRun(mapped.asIntBuffer());
+                    } else {
+                        long[] buf = readLongs(in, pos, len);
+                        radixSort.parallelSort(buf);
+                        mapped.asLongBuffer().put(buf);
+                        readers[r] = new LongRun(mapped.asLongBuffer());
+                    }
+                }
+                merge(readers, new Writer(out, order, width));
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    private int[] readInts(FileChannel in, long pos, int len) throws IOException {
+        int[] buf = new int[len];
+        MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, pos, (long) len * Integer.BYTES);
+        mapped.order(order).asIntBuffer().get(buf);
+        return buf;
+    }
+
+    private long[] readLongs(FileChannel in, long pos, int len) throws IOException {
+        long[] buf = new long[len];
+        MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, pos, (long) len * Long.BYTES);
+        mapped.order(order).asLongBuffer().get(buf);
+        return buf;
+    }
+
+    /**
+     * 败者树 k 路归并
+     *
+     * tree[1, k) 保存各内部节点比赛的败者（顺串下标），tree[0] 保存最终胜者，即当前最小值所在的顺串；
+     * 取出胜者后只需沿胜者叶子到根的路径重赛一次，每条记录比较 O(log(k)) 次，比堆少一半左右。
+     *
+     * @param runs
+     * @param writer
+     * @throws IOException
+     */
+    private static void merge(Run[] runs, Writer writer) throws IOException {
+        int k = runs.length;
+        int[] tree = new int[k];
+
+        // -1 表示虚拟的最小值，建树时先让所有内部节点的败者为 -1，再依次调整每个叶子
+        Arrays.fill(tree, -1);
+        for (int r = k - 1; r >= 0; r--) {
+            adjust(runs, tree, r);
+        }
+        while (!runs[tree[0]].exhausted) {
+            Run winner = runs[tree[0]];
+            writer.write(winner.head);
+            winner.advance();
+            adjust(runs, tree, tree[0]);
+        }
+        writer.flush();
+    }
+
+    /**
+     * 从叶子 s 向根重赛，败者留在节点，胜者继续向上
+     *
+     * @param runs
+     * @param tree
+     * @param s
+     */
+    private static void adjust(Run[] runs, int[] tree, int s) {
+        for (int t = (s + runs.length) >> 1; t > 0; t >>= 1) {
+            if (less(runs, tree[t], s)) {
+                int tmp = tree[t];
+                tree[t] = s;
+                s = tmp;
+            }
+        }
+        tree[0] = s;
+    }
+
+    /**
+     * 顺串 a 的当前值是否小于顺串 b，-1 小于一切，已读完的顺串大于一切，相等时下标小的优先（保持稳定）
+     *
+     * @param runs
+     * @param a
+     * @param b
+     * @return
+     */
+    private static boolean less(Run[] runs, int a, int b) {
+        if (a == -1) {
+            return true;
+        }
+        if (b == -1) {
+            return false;
+        }
+        Run ra = runs[a], rb = runs[b];
+        if (ra.exhausted || rb.exhausted) {
+            return !ra.exhausted;
+        }
+        return ra.head < rb.head || (ra.head == rb.head && a < b);
+    }
+
+    /**
+     * 顺串读取器，head 为当前值（int 记录也扩展为 long）
+     */
+    private static abstract class Run {
+
+        long head;
+
+        boolean exhausted;
+
+        abstract void advance();
+    }
+
+    private static final class IntRun extends Run {
+
+        private final IntBuffer buf;
+
+        IntRun(IntBuffer buf) {
+            this.buf = buf;
+            advance();
+        }
+
+        @Override
+        void advance() {
+            if (buf.hasRemaining()) {
+                head = buf.get();
+            } else {
+                exhausted = true;
+            }
+        }
+    }
+
+    private static final class LongRun extends Run {
+
+        private final LongBuffer buf;
+
+        LongRun(LongBuffer buf) {
+            this.buf = buf;
+            advance();
+        }
+
+        @Override
+        void advance() {
+            if (buf.hasRemaining()) {
+                head = buf.get();
+            } else {
+                exhausted = true;
+            }
+        }
+    }
+
+    /**
+     * 带缓冲区的顺序写入
+     */
+    private static final class Writer {
+
+        private final FileChannel out;
+
+        private final ByteBuffer buf;
+
+        private final int width;
+
+        Writer(FileChannel out, ByteOrder order, int width) {
+            this.out = out;
+            this.buf = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE).order(order);
+            this.width = width;
+        }
+
+        void write(long num) throws IOException {
+            if (buf.remaining() < width) {
+                flush();
+            }
+            if (width == Integer.BYTES) {
+                buf.putInt((int) num);
+            } else {
+                buf.putLong(num);
+            }
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                out.write(buf);
+            }
+            buf.clear();
+        }
+    }
+}
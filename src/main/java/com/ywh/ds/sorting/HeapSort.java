@@ -24,15 +24,28 @@ public class HeapSort {
      * @param end
      */
     private void siftDown(int[] arr, int i, int end) {
+        siftDown(arr, 0, i, end);
+    }
+
+    /**
+     * 以 arr[low] 为堆顶的子数组下沉，i、end 为相对 low 的下标
+     * Time: O(log(n))
+     *
+     * @param arr
+     * @param low
+     * @param i
+     * @param end
+     */
+    void siftDown(int[] arr, int low, int i, int end) {
         int parent = i, child = 2 * parent + 1;
         while (child <= end) {
-            if (child + 1 <= end && arr[child + 1] > arr[child]) {
+            if (child + 1 <= end && arr[low + child + 1] > arr[low + child]) {
                 child++;
             }
-            if (arr[parent] >= arr[child]) {
+            if (arr[low + parent] >= arr[low + child]) {
                 break;
             }
-            swap(arr, parent, child);
+            swap(arr, low + parent, low + child);
             parent = child;
             child = 2 * parent + 1;
         }
@@ -42,10 +55,29 @@ public class HeapSort {
      * 构造大顶堆
      *
      * @param arr
+     * @param low
+     * @param high
+     */
+    private void buildMaxHeap(int[] arr, int low, int high) {
+        for (int i = (high - low) / 2; i >= 0; i--) {
+            siftDown(arr, low, i, high - low);
+        }
+    }
+
+    /**
+     * 对 [low, high] 堆排序，供内省排序退化时使用
+     * Time: O(n*log(n)), Space: O(1)
+     *
+     * @param arr
+     * @param low
+     * @param high
      */
-    private void buildMaxHeap(int[] arr) {
-        for (int i = (arr.length - 1) / 2; i >= 0; i--) {
-            siftDown(arr, i, arr.length - 1);
+    void sort(int[] arr, int low, int high) {
+        buildMaxHeap(arr, low, high);
+        for (int end = high - low; end > 0; end--) {
+            // 每次把堆顶元素换到最后，再把交换后的堆顶元素下沉合适的位置
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end - 1);
         }
     }
 
@@ -58,11 +90,6 @@ public class HeapSort {
         if (arr == null || arr.length == 0) {
             return;
         }
-        buildMaxHeap(arr);
-        for (int end = arr.length - 1; end > 0; end--) {
-            // 每次把堆顶元素换到最后，再把交换后的堆顶元素下沉合适的位置
-            swap(arr, 0, end);
-            siftDown(arr, 0, end - 1);
-        }
+        sort(arr, 0, arr.length - 1);
     }
 }
@@ -1,5 +1,8 @@
 package com.ywh.ds.sorting;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * 归并排序
  * [排序] [稳定排序] [分治]
@@ -73,4 +76,785 @@ public class MergeSort {
             }
         }
     }
+
+    /**
+     * 并行排序默认的串行阈值：子区间长度不超过该值时不再拆分任务
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * 小区间改用插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * 对 [low, high] 插入排序
+     *
+     * @param arr
+     * @param low
+     * @param high
+     */
+    private static void insertionSort(int[] arr, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int j = i - 1, cur = arr[i];
+            for (; j >= low && arr[j] > cur; j--) {
+                arr[j + 1] = arr[j];
+            }
+            arr[j + 1] = cur;
+        }
+    }
+
+    /**
+     * 带插入排序截断的串行归并排序，作为并行排序的叶子任务
+     *
+     * @param arr
+     * @param low
+     * @param high
+     * @param tmp
+     */
+    private static void sequentialSort(int[] arr, int low, int high, int[] tmp) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            insertionSort(arr, low, high);
+            return;
+        }
+        int mid = low + (high - low) / 2;
+        sequentialSort(arr, low, mid, tmp);
+        sequentialSort(arr, mid + 1, high, tmp);
+
+        // 左半部分最大值不超过右半部分最小值，已经有序
+        if (arr[mid] <= arr[mid + 1]) {
+            return;
+        }
+        System.arraycopy(arr, low, tmp, low, high - low + 1);
+        merge(tmp, low, mid, mid + 1, high, arr, low);
+    }
+
+    /**
+     * 把 src 中两个有序区间 [low1, high1]、[low2, high2] 合并到 dst 从 dstLow 开始的位置（相等时先取左边，保持稳定）
+     *
+     * @param src
+     * @param low1
+     * @param high1
+     * @param low2
+     * @param high2
+     * @param dst
+     * @param dstLow
+     */
+    private static void merge(int[] src, int low1, int high1, int low2, int high2, int[] dst, int dstLow) {
+        int i = low1, j = low2, k = dstLow;
+        while (i <= high1 && j <= high2) {
+            dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        }
+        if (i <= high1) {
+            System.arraycopy(src, i, dst, k, high1 - i + 1);
+        } else if (j <= high2) {
+            System.arraycopy(src, j, dst, k, high2 - j + 1);
+        }
+    }
+
+    /**
+     * 在 arr 的 [low, high] 中查找第一个大于等于（strict 时为大于）key 的下标
+     *
+     * @param arr
+     * @param low
+     * @param high
+     * @param key
+     * @param strict
+     * @return
+     */
+    private static int search(int[] arr, int low, int high, int key, boolean strict) {
+        high++;
+        while (low < high) {
+            int mid = low + (high - low) / 2;
+            if (arr[mid] < key || (strict && arr[mid] == key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 并行排序任务：排序 [low, high]，结果写入 toTmp ? tmp : arr
+     *
+     * 左右两半的结果写入另一块数组，再合并回目标数组，arr 与 tmp 交替使用，不需要每次合并前整段拷贝。
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr, tmp;
+
+        private final int low, high, threshold;
+
+        private final boolean toTmp;
+
+        SortTask(int[] arr, int[] tmp, int low, int high, int threshold, boolean toTmp) {
+            this.arr = arr;
+            this.tmp = tmp;
+            this.low = low;
+            this.high = high;
+            this.threshold = threshold;
+            this.toTmp = toTmp;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low < threshold) {
+                sequentialSort(arr, low, high, tmp);
+                if (toTmp) {
+                    System.arraycopy(arr, low, tmp, low, high - low + 1);
+                }
+                return;
+            }
+            int mid = low + (high - low) / 2;
+            invokeAll(
+                new SortTask(arr, tmp, low, mid, threshold, !toTmp),
+                new SortTask(arr, tmp, mid + 1, high, threshold, !toTmp)
+            );
+            int[] src = toTmp ? arr : tmp, dst = toTmp ? tmp : arr;
+            new MergeTask(src, low, mid, mid + 1, high, dst, low, threshold).compute();
+        }
+    }
+
+    /**
+     * 并行合并任务：取较长区间的中点直接放到目标位置，在另一区间二分查找分割点，两边分别合并
+     */
+    private static final class MergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src, dst;
+
+        private final int low1, high1, low2, high2, dstLow, threshold;
+
+        MergeTask(int[] src, int low1, int high1, int low2, int high2, int[] dst, int dstLow, int threshold) {
+            this.src = src;
+            this.low1 = low1;
+            this.high1 = high1;
+            this.low2 = low2;
+            this.high2 = high2;
+            this.dst = dst;
+            this.dstLow = dstLow;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int len1 = high1 - low1 + 1, len2 = high2 - low2 + 1;
+            if (len1 + len2 <= threshold || len1 == 0 || len2 == 0) {
+                merge(src, low1, high1, low2, high2, dst, dstLow);
+                return;
+            }
+            int mid1, mid2, dstMid;
+            if (len1 >= len2) {
+                // 左边中点排在右边所有小于它的元素之后
+                mid1 = low1 + (len1 - 1) / 2;
+                mid2 = search(src, low2, high2, src[mid1], false);
+                dstMid = dstLow + (mid1 - low1) + (mid2 - low2);
+                dst[dstMid] = src[mid1];
+                invokeAll(
+                    new MergeTask(src, low1, mid1 - 1, low2, mid2 - 1, dst, dstLow, threshold),
+                    new MergeTask(src, mid1 + 1, high1, mid2, high2, dst, dstMid + 1, threshold)
+                );
+            } else {
+                // 右边中点排在左边所有小于等于它的元素之后
+                mid2 = low2 + (len2 - 1) / 2;
+                mid1 = search(src, low1, high1, src[mid2], true);
+                dstMid = dstLow + (mid1 - low1) + (mid2 - low2);
+                dst[dstMid] = src[mid2];
+                invokeAll(
+                    new MergeTask(src, low1, mid1 - 1, low2, mid2 - 1, dst, dstLow, threshold),
+                    new MergeTask(src, mid1, high1, mid2 + 1, high2, dst, dstMid + 1, threshold)
+                );
+            }
+        }
+    }
+
+    /**
+     * 并行解法（Fork/Join），使用公共线程池和默认阈值
+     *
+     * @param arr
+     */
+    public void parallelSort(int[] arr) {
+        parallelSort(arr, DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行解法（Fork/Join），使用公共线程池
+     *
+     * @param arr
+     * @param threshold 串行阈值
+     */
+    public void parallelSort(int[] arr, int threshold) {
+        parallelSort(arr, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行解法（Fork/Join）
+     * 长度超过 threshold 的区间拆分为两个子任务并行排序，再并行合并；不超过的区间串行归并，更小的区间插入排序。
+     * 所有任务共用一块辅助数组 tmp。
+     *
+     * Time: O(n*log(n)), Span: O(log(n)^3), Space: O(n)
+     *
+     * @param arr
+     * @param threshold 串行阈值
+     * @param pool
+     */
+    public void parallelSort(int[] arr, int threshold, ForkJoinPool pool) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        if (arr == null || arr.length == 0) {
+            return;
+        }
+        int[] tmp = new int[arr.length];
+        if (arr.length <= threshold || pool.getParallelism() == 1) {
+            sequentialSort(arr, 0, arr.length - 1, tmp);
+            return;
+        }
+        pool.invoke(new SortTask(arr, tmp, 0, arr.length - 1, threshold, false));
+    }
+
+    /**
+     * 自适应归并：数组长度小于该值时直接二分插入排序，同时是最短顺串长度的上界
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * 进入飞奔模式的初始阈值：一边连续胜出这么多次后改用指数查找
+     */
+    private static final int MIN_GALLOP = 7;
+
+    /**
+     * 根据 n 计算最短顺串长度 minRun ∈ [MIN_MERGE / 2, MIN_MERGE]，使 n / minRun 恰好是或略小于 2 的幂，归并时两边长度接近
+     *
+     * @param n
+     * @return
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * 从 low 开始识别自然顺串 [low, high)：非递减，或严格递减（原地翻转为递增，严格递减才能保证稳定）
+     *
+     * @param arr
+     * @param low
+     * @param high 不包含
+     * @return 顺串长度
+     */
+    private static int countRunAndMakeAscending(int[] arr, int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+        if (arr[runHigh++] < arr[low]) {
+            while (runHigh < high && arr[runHigh] < arr[runHigh - 1]) {
+                runHigh++;
+            }
+            for (int i = low, j = runHigh - 1; i < j; i++, j--) {
+                int tmp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = tmp;
+            }
+        } else {
+            while (runHigh < high && arr[runHigh] >= arr[runHigh - 1]) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    /**
+     * 二分插入排序 [low, high)，其中 [low, start) 已有序
+     *
+     * @param arr
+     * @param low
+     * @param high  不包含
+     * @param start
+     */
+    private static void binaryInsertionSort(int[] arr, int low, int high, int start) {
+        if (start == low) {
+            start++;
+        }
+        for (; start < high; start++) {
+            int cur = arr[start], left = low, right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (cur < arr[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(arr, left, arr, left + 1, start - left);
+            arr[left] = cur;
+        }
+    }
+
+    /**
+     * 在有序区间 arr[base, base + len) 中查找 key 的插入位置 k，使 arr[base + k - 1] < key <= arr[base + k]（相等时插在最左边）
+     * 从 hint 开始按 1, 3, 7, 15... 指数步长试探，再在最后一段中二分，key 靠近 hint 时只需 O(log(距离)) 次比较
+     *
+     * @param key
+     * @param arr
+     * @param base
+     * @param len
+     * @param hint
+     * @return
+     */
+    private static int gallopLeft(int key, int[] arr, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key > arr[base + hint]) {
+            // 向右试探：arr[base + hint + lastOfs] < key <= arr[base + hint + ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key > arr[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            // 向左试探：arr[base + hint - ofs] < key <= arr[base + hint - lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key <= arr[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+
+        // 在 (lastOfs, ofs] 中二分
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int mid = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key > arr[base + mid]) {
+                lastOfs = mid + 1;
+            } else {
+                ofs = mid;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * 同 gallopLeft，但相等时插在最右边：arr[base + k - 1] <= key < arr[base + k]
+     *
+     * @param key
+     * @param arr
+     * @param base
+     * @param len
+     * @param hint
+     * @return
+     */
+    private static int gallopRight(int key, int[] arr, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (key < arr[base + hint]) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && key < arr[base + hint - ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && key >= arr[base + hint + ofs]) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int mid = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (key < arr[base + mid]) {
+                ofs = mid;
+            } else {
+                lastOfs = mid + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * 自适应归并的状态：待归并的顺串栈和辅助数组
+     *
+     * 栈中顺串长度保持 runLen[i - 2] > runLen[i - 1] + runLen[i]、runLen[i - 1] > runLen[i]，
+     * 即自底向上至少按斐波那契数列递减，栈深度 O(log(n))，且每次归并的两个顺串长度接近。
+     */
+    private static final class RunMerger {
+
+        private final int[] arr;
+
+        private final int[] runBase, runLen;
+
+        private int stackSize;
+
+        private int minGallop = MIN_GALLOP;
+
+        /**
+         * 辅助数组，只存放较短的顺串，按需扩容，最大 n / 2
+         */
+        private int[] tmp;
+
+        RunMerger(int[] arr) {
+            int n = arr.length;
+            this.arr = arr;
+            this.tmp = new int[n < 2 * 256 ? n >>> 1 : 256];
+            int stackLen = n < 120 ? 5 : n < 1542 ? 10 : n < 119151 ? 24 : 49;
+            this.runBase = new int[stackLen];
+            this.runLen = new int[stackLen];
+        }
+
+        void pushRun(int base, int len) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = len;
+            stackSize++;
+        }
+
+        /**
+         * 栈顶三个顺串不满足长度约束时归并，直到满足
+         */
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) {
+                        n--;
+                    }
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * 归并栈中剩余的所有顺串
+         */
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * 归并栈中第 i、i + 1 个顺串
+         *
+         * @param i
+         */
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i], base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // 第一个顺串中不大于第二个顺串首元素的前缀已经就位
+            int k = gallopRight(arr[base2], arr, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) {
+                return;
+            }
+
+            // 第二个顺串中不小于第一个顺串尾元素的后缀已经就位
+            len2 = gallopLeft(arr[base1 + len1 - 1], arr, base2, len2, len2 - 1);
+            if (len2 == 0) {
+                return;
+            }
+
+            // 把较短的顺串拷贝到辅助数组
+            if (len1 <= len2) {
+                mergeLow(base1, len1, base2, len2);
+            } else {
+                mergeHigh(base1, len1, base2, len2);
+            }
+        }
+
+        private int[] ensureCapacity(int minCapacity) {
+            if (tmp.length < minCapacity) {
+                int newSize = Integer.highestOneBit(minCapacity) << 1;
+                if (newSize < 0) {
+                    newSize = minCapacity;
+                } else {
+                    newSize = Math.min(newSize, arr.length >>> 1);
+                }
+                tmp = new int[Math.max(newSize, minCapacity)];
+            }
+            return tmp;
+        }
+
+        /**
+         * 从左往右归并，第一个顺串较短，拷贝到 tmp；已知 arr[base1] > arr[base2]、第一个顺串尾元素大于第二个顺串所有元素
+         *
+         * 正常逐个比较；某一边连续胜出 minGallop 次后进入飞奔模式，用 gallop 一次找出整段连续胜出的元素批量拷贝；
+         * 飞奔效果差时退出并调高 minGallop，效果好时调低，适应数据特征。
+         *
+         * @param base1
+         * @param len1
+         * @param base2
+         * @param len2
+         */
+        private void mergeLow(int base1, int len1, int base2, int len2) {
+            int[] a = arr, t = ensureCapacity(len1);
+            System.arraycopy(a, base1, t, 0, len1);
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+
+            a[dest++] = a[cursor2++];
+            if (--len2 == 0) {
+                System.arraycopy(t, cursor1, a, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = t[cursor1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                // count1、count2 为两边连续胜出的次数
+                int count1 = 0, count2 = 0;
+                do {
+                    if (a[cursor2] < t[cursor1]) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        a[dest++] = t[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // 飞奔模式
+                do {
+                    count1 = gallopRight(a[cursor2], t, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(t, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) {
+                            break outer;
+                        }
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+
+                    count2 = gallopLeft(t[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) {
+                            break outer;
+                        }
+                    }
+                    a[dest++] = t[cursor1++];
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) {
+                    minGallop = 0;
+                }
+                // 退出飞奔模式的惩罚
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = t[cursor1];
+            } else {
+                System.arraycopy(t, cursor1, a, dest, len1);
+            }
+        }
+
+        /**
+         * 从右往左归并，第二个顺串较短，拷贝到 tmp，同 mergeLow
+         *
+         * @param base1
+         * @param len1
+         * @param base2
+         * @param len2
+         */
+        private void mergeHigh(int base1, int len1, int base2, int len2) {
+            int[] a = arr, t = ensureCapacity(len2);
+            System.arraycopy(a, base2, t, 0, len2);
+            int cursor1 = base1 + len1 - 1, cursor2 = len2 - 1, dest = base2 + len2 - 1;
+
+            a[dest--] = a[cursor1--];
+            if (--len1 == 0) {
+                System.arraycopy(t, 0, a, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = t[cursor2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (t[cursor2] < a[cursor1]) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        a[dest--] = t[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(t[cursor2], a, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        len1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (len1 == 0) {
+                            break outer;
+                        }
+                    }
+                    a[dest--] = t[cursor2--];
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+
+                    count2 = len2 - gallopLeft(a[cursor1], t, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        len2 -= count2;
+                        System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+                        if (len2 <= 1) {
+                            break outer;
+                        }
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) {
+                    minGallop = 0;
+                }
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+                a[dest] = t[cursor2];
+            } else {
+                System.arraycopy(t, 0, a, dest - (len2 - 1), len2);
+            }
+        }
+    }
+
+    /**
+     * 自适应解法（TimSort）
+     * 识别输入中已有的自然顺串（递减顺串翻转），短于 minRun 的用二分插入排序补齐，
+     * 顺串入栈后按长度约束归并，归并时使用飞奔模式跳过整段有序的元素。
+     *
+     * Time(best): O(n), Time(worst): O(n*log(n)), Space: O(n)
+     *
+     * @param arr
+     */
+    public void sortAdaptive(int[] arr) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        int low = 0, high = arr.length, remaining = high;
+
+        // 小数组不归并
+        if (remaining < MIN_MERGE) {
+            int runLen = countRunAndMakeAscending(arr, low, high);
+            binaryInsertionSort(arr, low, high, low + runLen);
+            return;
+        }
+
+        RunMerger merger = new RunMerger(arr);
+        int minRun = minRunLength(remaining);
+        do {
+            int runLen = countRunAndMakeAscending(arr, low, high);
+
+            // 顺串太短时补齐到 minRun
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertionSort(arr, low, low + force, low + runLen);
+                runLen = force;
+            }
+            merger.pushRun(low, runLen);
+            merger.mergeCollapse();
+            low += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        merger.mergeForceCollapse();
+    }
 }
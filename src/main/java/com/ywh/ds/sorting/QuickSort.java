@@ -9,6 +9,18 @@ package com.ywh.ds.sorting;
  */
 public class QuickSort {
 
+    /**
+     * 小区间改用插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 47;
+
+    /**
+     * 区间超过该长度时，每个采样点取附近三个元素的中位数（ninther）
+     */
+    private static final int NINTHER_THRESHOLD = 1 << 10;
+
+    private final HeapSort heapSort = new HeapSort();
+
     /**
      *
      * @param arr
@@ -99,4 +111,275 @@ public class QuickSort {
         }
         hoareSort(arr, 0, arr.length - 1);
     }
+
+    /**
+     * 对 [low, high] 插入排序
+     *
+     * @param arr
+     * @param low
+     * @param high
+     */
+    private void insertionSort(int[] arr, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int j = i - 1, cur = arr[i];
+            for (; j >= low && arr[j] > cur; j--) {
+                arr[j + 1] = arr[j];
+            }
+            arr[j + 1] = cur;
+        }
+    }
+
+    /**
+     * 返回 arr[a]、arr[b]、arr[c] 中位数的下标
+     *
+     * @param arr
+     * @param a
+     * @param b
+     * @param c
+     * @return
+     */
+    private int median(int[] arr, int a, int b, int c) {
+        if (arr[a] < arr[b]) {
+            return arr[b] < arr[c] ? b : arr[a] < arr[c] ? c : a;
+        }
+        return arr[a] < arr[c] ? a : arr[b] < arr[c] ? c : b;
+    }
+
+    /**
+     *
+     * @param arr
+     * @param low
+     * @param high
+     * @param depth 剩余递归深度，耗尽时改用堆排序
+     */
+    private void introSort(int[] arr, int low, int high, int depth) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort.sort(arr, low, high);
+                return;
+            }
+
+            // 在区间中等距取 5 个采样点，区间较大时每个采样点换成附近三个元素的中位数
+            int len = high - low + 1, seventh = (len >> 3) + (len >> 6) + 1;
+            int e3 = low + (high - low) / 2, e2 = e3 - seventh, e1 = e2 - seventh, e4 = e3 + seventh, e5 = e4 + seventh;
+            int[] e = {e1, e2, e3, e4, e5};
+            if (len > NINTHER_THRESHOLD) {
+                int d = seventh >> 2;
+                for (int idx : e) {
+                    swap(arr, idx, median(arr, idx - d, idx, idx + d));
+                }
+            }
+
+            // 采样点插入排序，取第 2、4 个作为两个基准值
+            for (int i = 1; i < e.length; i++) {
+                int j = i - 1, cur = arr[e[i]];
+                for (; j >= 0 && arr[e[j]] > cur; j--) {
+                    arr[e[j + 1]] = arr[e[j]];
+                }
+                arr[e[j + 1]] = cur;
+            }
+
+            if (arr[e2] == arr[e4]) {
+                // 两个基准值相同，说明重复元素较多，改用单基准三路切分：< pivot | == pivot | > pivot
+                int pivot = arr[e3], lt = low, gt = high;
+                for (int k = low; k <= gt; ) {
+                    if (arr[k] < pivot) {
+                        swap(arr, lt++, k++);
+                    } else if (arr[k] > pivot) {
+                        swap(arr, k, gt--);
+                    } else {
+                        k++;
+                    }
+                }
+                // 较短的一边递归，较长的一边循环，控制栈深度
+                if (lt - low < high - gt) {
+                    introSort(arr, low, lt - 1, depth);
+                    low = gt + 1;
+                } else {
+                    introSort(arr, gt + 1, high, depth);
+                    high = lt - 1;
+                }
+                continue;
+            }
+
+            // 双基准切分：< pivot1 | pivot1 <= && <= pivot2 | > pivot2
+            // 先把两个基准值换到两端，[low + 1, lt) < pivot1，(gt, high - 1] > pivot2
+            int pivot1 = arr[e2], pivot2 = arr[e4], lt = low + 1, gt = high - 1;
+            arr[e2] = arr[low];
+            arr[e4] = arr[high];
+
+            // 采样点 e5 >= pivot2、e1 <= pivot1 保证以下两个循环不会越界
+            while (arr[lt] < pivot1) {
+                lt++;
+            }
+            while (arr[gt] > pivot2) {
+                gt--;
+            }
+            outer:
+            for (int k = lt; k <= gt; k++) {
+                int ak = arr[k];
+                if (ak < pivot1) {
+                    arr[k] = arr[lt];
+                    arr[lt++] = ak;
+                } else if (ak > pivot2) {
+                    while (arr[gt] > pivot2) {
+                        if (gt-- == k) {
+                            break outer;
+                        }
+                    }
+                    if (arr[gt] < pivot1) {
+                        arr[k] = arr[lt];
+                        arr[lt++] = arr[gt];
+                    } else {
+                        arr[k] = arr[gt];
+                    }
+                    arr[gt--] = ak;
+                }
+            }
+
+            // 基准值归位
+            arr[low] = arr[lt - 1];
+            arr[lt - 1] = pivot1;
+            arr[high] = arr[gt + 1];
+            arr[gt + 1] = pivot2;
+
+            introSort(arr, low, lt - 2, depth);
+            introSort(arr, gt + 2, high, depth);
+
+            // 中间部分过大时，把等于基准值的元素交换到两端，不再参与排序
+            if (lt < e1 && e5 < gt) {
+                while (arr[lt] == pivot1) {
+                    lt++;
+                }
+                while (arr[gt] == pivot2) {
+                    gt--;
+                }
+                outer:
+                for (int k = lt; k <= gt; k++) {
+                    int ak = arr[k];
+                    if (ak == pivot1) {
+                        arr[k] = arr[lt];
+                        arr[lt++] = ak;
+                    } else if (ak == pivot2) {
+                        while (arr[gt] == pivot2) {
+                            if (gt-- == k) {
+                                break outer;
+                            }
+                        }
+                        if (arr[gt] == pivot1) {
+                            arr[k] = arr[lt];
+                            arr[lt++] = pivot1;
+                        } else {
+                            arr[k] = arr[gt];
+                        }
+                        arr[gt--] = ak;
+                    }
+                }
+            }
+            low = lt;
+            high = gt;
+        }
+        insertionSort(arr, low, high);
+    }
+
+    /**
+     * 内省排序：双基准快速排序（采样点取基准值），小区间插入排序，递归深度超过 2 * log(n) 时改用堆排序
+     * 对有序、逆序、大量重复等输入同样保证 O(n*log(n))
+     *
+     * Time: O(n*log(n)), Space: O(log(n))
+     *
+     * @param arr
+     */
+    public void introSort(int[] arr) {
+        if (arr == null || arr.length == 0) {
+            return;
+        }
+        int depth = 2 * (31 - Integer.numberOfLeadingZeros(arr.length));
+        introSort(arr, 0, arr.length - 1, depth);
+    }
+
+    /**
+     * 取基准值下标：三数取中，区间较大时取三组三数中位数的中位数（ninther）
+     *
+     * @param arr
+     * @param low
+     * @param high
+     * @return
+     */
+    private int pivotIndex(int[] arr, int low, int high) {
+        int mid = low + (high - low) / 2;
+        if (high - low + 1 <= NINTHER_THRESHOLD) {
+            return median(arr, low, mid, high);
+        }
+        int d = (high - low + 1) >> 3;
+        return median(arr,
+            median(arr, low, low + d, low + 2 * d),
+            median(arr, mid - d, mid, mid + d),
+            median(arr, high - 2 * d, high - d, high));
+    }
+
+    /**
+     * 内省选择：返回第 k 小（从 0 开始）的元素，并调整 arr 使 arr[k] 就位，左边都不大于它、右边都不小于它
+     *
+     * 快速选择每轮只处理包含 k 的一侧，平均 O(n)；
+     * 切分轮数超过 2 * log(n) 时说明基准值选取很差，剩余区间改用堆排序，最坏 O(n*log(n))。
+     *
+     * Time(avg): O(n), Time(worst): O(n*log(n)), Space: O(1)
+     *
+     * @param arr
+     * @param k
+     * @return
+     */
+    public int select(int[] arr, int k) {
+        if (arr == null || k < 0 || k >= arr.length) {
+            throw new IllegalArgumentException("k is out of range");
+        }
+        int low = 0, high = arr.length - 1, depth = 2 * (31 - Integer.numberOfLeadingZeros(arr.length));
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort.sort(arr, low, high);
+                return arr[k];
+            }
+
+            // Hoare 切分，遇到等于基准值的元素两边都停下交换，重复元素较多时依然均匀切分
+            int i = low, j = high, pivot = arr[pivotIndex(arr, low, high)];
+            for (;;) {
+                for (; arr[i] < pivot; i++) {}
+                for (; arr[j] > pivot; j--) {}
+                if (i >= j) {
+                    break;
+                }
+                swap(arr, i++, j--);
+            }
+            // [low, j] 都不大于基准值，[j + 1, high] 都不小于基准值
+            if (k <= j) {
+                high = j;
+            } else {
+                low = j + 1;
+            }
+        }
+        insertionSort(arr, low, high);
+        return arr[k];
+    }
+
+    /**
+     * 部分排序：把最小的 k 个元素按升序排到 arr[0, k)，其余元素顺序不定
+     * 先选出第 k - 1 小的元素，再只对左边排序。
+     *
+     * Time: O(n + k*log(k)), Space: O(log(k))
+     *
+     * @param arr
+     * @param k
+     */
+    public void partialSort(int[] arr, int k) {
+        if (arr == null || k <= 0) {
+            return;
+        }
+        if (k >= arr.length) {
+            introSort(arr);
+            return;
+        }
+        select(arr, k - 1);
+        introSort(arr, 0, k - 2, 2 * (31 - Integer.numberOfLeadingZeros(k)));
+    }
 }
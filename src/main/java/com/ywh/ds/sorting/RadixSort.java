@@ -3,6 +3,9 @@ package com.ywh.ds.sorting;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
 
 /**
  * 基数排序
@@ -180,4 +183,452 @@ public class RadixSort {
         // 最低四位为 1
         sortInCounting(arr, 4, 0x0f);
     }
+
+    /**
+     * 并行基数排序每次处理 8 个二进制位
+     */
+    static final int BITS = 8, RADIX = 1 << BITS, MASK = RADIX - 1;
+
+    /**
+     * 每个分块至少包含的元素个数，数组较小时分块过多反而得不偿失
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    /**
+     * 计算分块数：每个工作线程一块
+     *
+     * @param n
+     * @param pool
+     * @return
+     */
+    private static int chunks(int n, ForkJoinPool pool) {
+        return Math.max(1, Math.min(pool.getParallelism(), n / MIN_CHUNK_SIZE));
+    }
+
+    /**
+     * 分块 c 的起始下标
+     *
+     * @param n
+     * @param chunks
+     * @param c
+     * @return
+     */
+    private static int chunkStart(int n, int chunks, int c) {
+        return (int) ((long) n * c / chunks);
+    }
+
+    /**
+     * 每个分块各执行一次 body，只有一块时直接在当前线程执行
+     *
+     * @param chunks
+     * @param body
+     */
+    private static void forEachChunk(int chunks, IntConsumer body) {
+        if (chunks == 1) {
+            body.accept(0);
+            return;
+        }
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks[c] = ForkJoinTask.adapt(() -> body.accept(chunk));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * 在 pool 中执行 body，只有一块时直接在当前线程执行
+     *
+     * @param chunks
+     * @param pool
+     * @param body
+     */
+    private static void run(int chunks, ForkJoinPool pool, Runnable body) {
+        if (chunks == 1) {
+            body.run();
+        } else {
+            pool.invoke(ForkJoinTask.adapt(body));
+        }
+    }
+
+    /**
+     * 把各分块的局部计数转化为各分块在目标数组中的写入位置：
+     * 桶 b 在分块 c 的起始位置 = 所有分块中小于 b 的桶的元素个数 + 分块 0 ~ c-1 中桶 b 的元素个数
+     *
+     * @param counts counts[c][b] 为分块 c 中桶 b 的元素个数，原地转化为写入位置
+     * @param n
+     * @return 所有元素落在同一个桶中（这一趟不需要移动）时返回 false
+     */
+    private static boolean prefixSum(int[][] counts, int n) {
+        int start = 0;
+        for (int b = 0; b < RADIX; b++) {
+            int total = 0;
+            for (int[] count : counts) {
+                int c = count[b];
+                count[b] = start + total;
+                total += c;
+            }
+            if (total == n) {
+                return false;
+            }
+            start += total;
+        }
+        return true;
+    }
+
+    /**
+     * 计数数组转化为位置数组，即只有一个分块的 prefixSum
+     *
+     * @param count
+     * @param n
+     * @return 所有元素落在同一个桶中（这一趟不需要移动）时返回 false
+     */
+    private static boolean offsets(int[] count, int n) {
+        int start = 0;
+        for (int b = 0; b < RADIX; b++) {
+            int c = count[b];
+            if (c == n) {
+                return false;
+            }
+            count[b] = start;
+            start += c;
+        }
+        return true;
+    }
+
+    /**
+     * 顺序 LSD 基数排序核心（8 位一趟），Sorts 与只有一个分块的 parallelSort 共用：
+     * 一次遍历统计所有趟的直方图，再逐趟稳定地在两段之间来回分配，所有元素在某一趟位相同时跳过该趟
+     *
+     * @param keys       按有符号整数顺序排序 keys[keysPos, keysPos + n)
+     * @param keysPos
+     * @param scratch    辅助区间 scratch[scratchPos, scratchPos + n)，可以与 keys 是同一个数组（区间不重叠）
+     * @param scratchPos
+     * @param n
+     * @param idx        随键一起移动的下标 idx[0, n)（用于索引排序），为 null 表示没有
+     * @param idxScratch idx 的辅助数组，idx 为 null 时忽略
+     * @param counts     计数数组，至少 Integer.BYTES 行、每行 RADIX 个，由调用方复用，不必清零
+     * @return 结果是否在辅助区间中（否则仍在 keys、idx 中）
+     */
+    static boolean lsd(int[] keys, int keysPos, int[] scratch, int scratchPos, int n,
+                       int[] idx, int[] idxScratch, int[][] counts) {
+        for (int d = 0; d < Integer.BYTES; d++) {
+            Arrays.fill(counts[d], 0);
+        }
+        for (int i = keysPos; i < keysPos + n; i++) {
+            int key = keys[i] ^ Integer.MIN_VALUE;
+            for (int d = 0; d < Integer.BYTES; d++) {
+                counts[d][(key >>> (d * BITS)) & MASK]++;
+            }
+        }
+        int[] from = keys, to = scratch, idxFrom = idx, idxTo = idxScratch;
+        int fromPos = keysPos, toPos = scratchPos;
+        boolean swapped = false;
+        for (int d = 0; d < Integer.BYTES; d++) {
+            int[] offset = counts[d];
+            if (!offsets(offset, n)) {
+                continue;
+            }
+            int shift = d * BITS;
+            if (idx == null) {
+                for (int i = 0; i < n; i++) {
+                    int key = from[fromPos + i];
+                    to[toPos + offset[((key ^ Integer.MIN_VALUE) >>> shift) & MASK]++] = key;
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    int key = from[fromPos + i], pos = offset[((key ^ Integer.MIN_VALUE) >>> shift) & MASK]++;
+                    to[toPos + pos] = key;
+                    idxTo[pos] = idxFrom[i];
+                }
+                int[] t = idxFrom;
+                idxFrom = idxTo;
+                idxTo = t;
+            }
+            int[] t = from;
+            from = to;
+            to = t;
+            int p = fromPos;
+            fromPos = toPos;
+            toPos = p;
+            swapped = !swapped;
+        }
+        return swapped;
+    }
+
+    /**
+     * 同 lsd(int[], int, int[], int, int, int[], int[], int[][])，64 位共 8 趟，counts 至少 Long.BYTES 行
+     *
+     * @param keys
+     * @param keysPos
+     * @param scratch
+     * @param scratchPos
+     * @param n
+     * @param idx
+     * @param idxScratch
+     * @param counts
+     * @return
+     */
+    static boolean lsd(long[] keys, int keysPos, long[] scratch, int scratchPos, int n,
+                       int[] idx, int[] idxScratch, int[][] counts) {
+        for (int d = 0; d < Long.BYTES; d++) {
+            Arrays.fill(counts[d], 0);
+        }
+        for (int i = keysPos; i < keysPos + n; i++) {
+            long key = keys[i] ^ Long.MIN_VALUE;
+            for (int d = 0; d < Long.BYTES; d++) {
+                counts[d][(int) (key >>> (d * BITS)) & MASK]++;
+            }
+        }
+        long[] from = keys, to = scratch;
+        int[] idxFrom = idx, idxTo = idxScratch;
+        int fromPos = keysPos, toPos = scratchPos;
+        boolean swapped = false;
+        for (int d = 0; d < Long.BYTES; d++) {
+            int[] offset = counts[d];
+            if (!offsets(offset, n)) {
+                continue;
+            }
+            int shift = d * BITS;
+            if (idx == null) {
+                for (int i = 0; i < n; i++) {
+                    long key = from[fromPos + i];
+                    to[toPos + offset[(int) ((key ^ Long.MIN_VALUE) >>> shift) & MASK]++] = key;
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    long key = from[fromPos + i];
+                    int pos = offset[(int) ((key ^ Long.MIN_VALUE) >>> shift) & MASK]++;
+                    to[toPos + pos] = key;
+                    idxTo[pos] = idxFrom[i];
+                }
+                int[] t = idxFrom;
+                idxFrom = idxTo;
+                idxTo = t;
+            }
+            long[] t = from;
+            from = to;
+            to = t;
+            int p = fromPos;
+            fromPos = toPos;
+            toPos = p;
+            swapped = !swapped;
+        }
+        return swapped;
+    }
+
+    /**
+     * 并行 LSD 基数排序核心：每趟先由各线程统计自己分块的局部直方图，再计算全局前缀和，最后各线程并行、稳定地分配到辅助数组
+     *
+     * @param arr
+     * @param pool
+     */
+    private static void parallelLsd(int[] arr, ForkJoinPool pool) {
+        int n = arr.length, chunks = chunks(n, pool);
+        if (chunks == 1) {
+            int[] scratch = new int[n];
+            if (lsd(arr, 0, scratch, 0, n, null, null, new int[Integer.BYTES][RADIX])) {
+                System.arraycopy(scratch, 0, arr, 0, n);
+            }
+            return;
+        }
+        int[][] counts = new int[chunks][RADIX];
+        int[][] buffers = {arr, new int[n]};
+        run(chunks, pool, () -> {
+            int src = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += BITS) {
+                int[] from = buffers[src], to = buffers[src ^ 1];
+                int s = shift;
+                forEachChunk(chunks, c -> {
+                    int[] count = counts[c];
+                    Arrays.fill(count, 0);
+                    for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                        count[((from[i] ^ Integer.MIN_VALUE) >>> s) & MASK]++;
+                    }
+                });
+
+                // 当前位全部相同时跳过这一趟
+                if (!prefixSum(counts, n)) {
+                    continue;
+                }
+                forEachChunk(chunks, c -> {
+                    int[] offset = counts[c];
+                    for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                        to[offset[((from[i] ^ Integer.MIN_VALUE) >>> s) & MASK]++] = from[i];
+                    }
+                });
+                src ^= 1;
+            }
+            if (src == 1) {
+                System.arraycopy(buffers[1], 0, arr, 0, n);
+            }
+        });
+    }
+
+    /**
+     * 同 parallelLsd(int[], ForkJoinPool)，64 位共 8 趟
+     *
+     * @param arr
+     * @param pool
+     */
+    private static void parallelLsd(long[] arr, ForkJoinPool pool) {
+        int n = arr.length, chunks = chunks(n, pool);
+        if (chunks == 1) {
+            long[] scratch = new long[n];
+            if (lsd(arr, 0, scratch, 0, n, null, null, new int[Long.BYTES][RADIX])) {
+                System.arraycopy(scratch, 0, arr, 0, n);
+            }
+            return;
+        }
+        int[][] counts = new int[chunks][RADIX];
+        long[][] buffers = {arr, new long[n]};
+        run(chunks, pool, () -> {
+            int src = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += BITS) {
+                long[] from = buffers[src], to = buffers[src ^ 1];
+                int s = shift;
+                forEachChunk(chunks, c -> {
+                    int[] count = counts[c];
+                    Arrays.fill(count, 0);
+                    for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                        count[(int) ((from[i] ^ Long.MIN_VALUE) >>> s) & MASK]++;
+                    }
+                });
+                if (!prefixSum(counts, n)) {
+                    continue;
+                }
+                forEachChunk(chunks, c -> {
+                    int[] offset = counts[c];
+                    for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                        to[offset[(int) ((from[i] ^ Long.MIN_VALUE) >>> s) & MASK]++] = from[i];
+                    }
+                });
+                src ^= 1;
+            }
+            if (src == 1) {
+                System.arraycopy(buffers[1], 0, arr, 0, n);
+            }
+        });
+    }
+
+    /**
+     * 浮点数位表示与有符号整数的互相转换（对合）：负数翻转除符号位外的所有位，使整数顺序与浮点数顺序一致
+     * NaN 统一为规范形式排在最后，-0.0 排在 0.0 之前，与 Arrays.sort 一致
+     *
+     * @param bits
+     * @return
+     */
+    static int floatKey(int bits) {
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    static long doubleKey(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * 并行基数排序，使用公共线程池
+     *
+     * @param arr
+     */
+    public void parallelSort(int[] arr) {
+        parallelSort(arr, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行基数排序（8 位一趟，共 4 趟），支持负数
+     * Time: O(4 * n / p), Space: O(n + p * 2^8)
+     *
+     * @param arr
+     * @param pool
+     */
+    public void parallelSort(int[] arr, ForkJoinPool pool) {
+        if (arr == null || arr.length == 0) {
+            return;
+        }
+        parallelLsd(arr, pool);
+    }
+
+    /**
+     * 并行基数排序，使用公共线程池
+     *
+     * @param arr
+     */
+    public void parallelSort(long[] arr) {
+        parallelSort(arr, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行基数排序（8 位一趟，共 8 趟），支持负数
+     * Time: O(8 * n / p), Space: O(n + p * 2^8)
+     *
+     * @param arr
+     * @param pool
+     */
+    public void parallelSort(long[] arr, ForkJoinPool pool) {
+        if (arr == null || arr.length == 0) {
+            return;
+        }
+        parallelLsd(arr, pool);
+    }
+
+    /**
+     * 并行基数排序，使用公共线程池
+     *
+     * @param arr
+     */
+    public void parallelSort(float[] arr) {
+        parallelSort(arr, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 先把浮点数转换为可比较的整数键，排序后再转换回来
+     *
+     * @param arr
+     * @param pool
+     */
+    public void parallelSort(float[] arr, ForkJoinPool pool) {
+        if (arr == null || arr.length == 0) {
+            return;
+        }
+        int n = arr.length;
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = floatKey(Float.floatToIntBits(arr[i]));
+        }
+        parallelLsd(keys, pool);
+        for (int i = 0; i < n; i++) {
+            arr[i] = Float.intBitsToFloat(floatKey(keys[i]));
+        }
+    }
+
+    /**
+     * 并行基数排序，使用公共线程池
+     *
+     * @param arr
+     */
+    public void parallelSort(double[] arr) {
+        parallelSort(arr, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 先把浮点数转换为可比较的整数键，排序后再转换回来
+     *
+     * @param arr
+     * @param pool
+     */
+    public void parallelSort(double[] arr, ForkJoinPool pool) {
+        if (arr == null || arr.length == 0) {
+            return;
+        }
+        int n = arr.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = doubleKey(Double.doubleToLongBits(arr[i]));
+        }
+        parallelLsd(keys, pool);
+        for (int i = 0; i < n; i++) {
+            arr[i] = Double.longBitsToDouble(doubleKey(keys[i]));
+        }
+    }
 }
@@ -0,0 +1,421 @@
+package com.ywh.ds.sorting;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static com.ywh.ds.sorting.RadixSort.RADIX;
+import static com.ywh.ds.sorting.RadixSort.doubleKey;
+import static com.ywh.ds.sorting.RadixSort.floatKey;
+import static com.ywh.ds.sorting.RadixSort.lsd;
+
+/**
+ * 排序门面：为 long[]、double[]、float[]、short[]、T[] 提供专门的排序实现，另有索引排序（argsort）和按键基数排序
+ * [排序] [稳定排序]
+ *
+ * 除可选传入的一块辅助数组外不再分配与 n 相关的内存：
+ * 数值类型使用 LSD 基数排序（8 位一趟），与 RadixSort 共用同一个核心 RadixSort.lsd，double / float 先经
+ * doubleKey / floatKey 转换为可比较的 long / int 键；short[] 使用计数排序；对象数组使用归并排序。
+ *
+ * 计数数组（基数排序每趟 2^8 个、short[] 计数排序 2^16 个）保存在实例中重复使用，因此 Sorts 实例非线程安全，
+ * 每个线程使用自己的实例。
+ *
+ * @author ywh
+ * @since 18/10/2026
+ */
+public class Sorts {
+
+    /**
+     * 小数组改用插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * short[] 不超过该长度时插入排序，否则计数排序（计数数组大小固定为 2^16）
+     */
+    private static final int COUNTING_SORT_THRESHOLD = 1 << 8;
+
+    /**
+     * 基数排序各趟的计数数组，每次排序前由 RadixSort.lsd 清零
+     */
+    private final int[][] counts = new int[Long.BYTES][RADIX];
+
+    /**
+     * short[] 计数排序的计数数组，首次使用时分配，用完后保持全 0
+     */
+    private int[] shortCounts;
+
+    private static void checkScratch(long required, int scratchLength) {
+        if (scratchLength < required) {
+            throw new IllegalArgumentException("scratch length " + scratchLength + " is less than " + required);
+        }
+    }
+
+    /**
+     * @param arr
+     */
+    public void sort(long[] arr) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        sort(arr, new long[arr.length]);
+    }
+
+    /**
+     * 有符号 64 位整数基数排序
+     * Time: O(8 * n), Space: O(1)（不计 scratch）
+     *
+     * @param arr
+     * @param scratch 辅助数组，长度不小于 arr.length，可重复使用
+     */
+    public void sort(long[] arr, long[] scratch) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        int n = arr.length;
+        checkScratch(n, scratch.length);
+        if (lsd(arr, 0, scratch, 0, n, null, null, counts)) {
+            System.arraycopy(scratch, 0, arr, 0, n);
+        }
+    }
+
+    /**
+     * @param arr
+     */
+    public void sort(double[] arr) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        sort(arr, new long[2 * arr.length]);
+    }
+
+    /**
+     * 浮点数按位表示转换为可比较的 long 键，基数排序后再转换回来，NaN 排在最后，-0.0 排在 0.0 之前（与 Arrays.sort 一致）
+     * Time: O(8 * n), Space: O(1)（不计 scratch）
+     *
+     * @param arr
+     * @param scratch 辅助数组，前 n 个存放键，后 n 个用于分配，长度不小于 2 * arr.length，可重复使用
+     */
+    public void sort(double[] arr, long[] scratch) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        int n = arr.length;
+        checkScratch(2L * n, scratch.length);
+        for (int i = 0; i < n; i++) {
+            scratch[i] = doubleKey(Double.doubleToLongBits(arr[i]));
+        }
+        int from = lsd(scratch, 0, scratch, n, n, null, null, counts) ? n : 0;
+        for (int i = 0; i < n; i++) {
+            arr[i] = Double.longBitsToDouble(doubleKey(scratch[from + i]));
+        }
+    }
+
+    /**
+     * @param arr
+     */
+    public void sort(float[] arr) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        sort(arr, new int[2 * arr.length]);
+    }
+
+    /**
+     * 同 sort(double[], long[])，键为 int，共 4 趟
+     *
+     * @param arr
+     * @param scratch 辅助数组，长度不小于 2 * arr.length，可重复使用
+     */
+    public void sort(float[] arr, int[] scratch) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        int n = arr.length;
+        checkScratch(2L * n, scratch.length);
+        for (int i = 0; i < n; i++) {
+            scratch[i] = floatKey(Float.floatToIntBits(arr[i]));
+        }
+        int from = lsd(scratch, 0, scratch, n, n, null, null, counts) ? n : 0;
+        for (int i = 0; i < n; i++) {
+            arr[i] = Float.intBitsToFloat(floatKey(scratch[from + i]));
+        }
+    }
+
+    /**
+     * 计数排序，不需要辅助数组
+     * Time: O(n + 2^16), Space: O(1)（计数数组在实例内复用）
+     *
+     * @param arr
+     */
+    public void sort(short[] arr) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        int n = arr.length;
+        if (n <= COUNTING_SORT_THRESHOLD) {
+            for (int i = 1; i < n; i++) {
+                int j = i - 1;
+                short cur = arr[i];
+                for (; j >= 0 && arr[j] > cur; j--) {
+                    arr[j + 1] = arr[j];
+                }
+                arr[j + 1] = cur;
+            }
+            return;
+        }
+        int[] count = shortCounts;
+        if (count == null) {
+            count = shortCounts = new int[1 << Short.SIZE];
+        }
+        for (short num : arr) {
+            count[num - Short.MIN_VALUE]++;
+        }
+        int idx = 0;
+        for (int i = 0; i < count.length; i++) {
+            for (int c = count[i]; c > 0; c--) {
+                arr[idx++] = (short) (i + Short.MIN_VALUE);
+            }
+            count[i] = 0;
+        }
+    }
+
+    /**
+     * 归并排序，src 与 dest 内容相同，结果写入 dest，每层交替使用两块数组，不需要合并前拷贝
+     *
+     * @param src
+     * @param dest
+     * @param low
+     * @param high  不包含
+     * @param c
+     * @param <T>
+     */
+    private static <T> void mergeSort(T[] src, T[] dest, int low, int high, Comparator<? super T> c) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                int j = i - 1;
+                T cur = dest[i];
+                for (; j >= low && c.compare(dest[j], cur) > 0; j--) {
+                    dest[j + 1] = dest[j];
+                }
+                dest[j + 1] = cur;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, c);
+        mergeSort(dest, src, mid, high, c);
+
+        // 左半部分最大值不超过右半部分最小值，直接拷贝
+        if (c.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, low, dest, low, high - low);
+            return;
+        }
+        for (int k = low, i = low, j = mid; k < high; k++) {
+            if (j >= high || i < mid && c.compare(src[i], src[j]) <= 0) {
+                dest[k] = src[i++];
+            } else {
+                dest[k] = src[j++];
+            }
+        }
+    }
+
+    /**
+     * 稳定排序
+     * Time: O(n*log(n)), Space: O(n)
+     *
+     * @param arr
+     * @param c
+     * @param <T>
+     */
+    public <T> void sort(T[] arr, Comparator<? super T> c) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        mergeSort(arr.clone(), arr, 0, arr.length, c);
+    }
+
+    /**
+     * 按 int 键稳定基数排序，键提取函数每个元素只调用一次
+     * Time: O(4 * n), Space: O(n)
+     *
+     * @param arr
+     * @param key
+     * @param <T>
+     */
+    public <T> void sortByIntKey(T[] arr, ToIntFunction<? super T> key) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        int n = arr.length;
+        int[] keys = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = key.applyAsInt(arr[i]);
+        }
+        int[] idx = identity(n), idxScratch = new int[n];
+        permute(arr, lsd(keys, 0, keys, n, n, idx, idxScratch, counts) ? idxScratch : idx);
+    }
+
+    /**
+     * 按 long 键稳定基数排序，键提取函数每个元素只调用一次
+     * Time: O(8 * n), Space: O(n)
+     *
+     * @param arr
+     * @param key
+     * @param <T>
+     */
+    public <T> void sortByLongKey(T[] arr, ToLongFunction<? super T> key) {
+        if (arr == null || arr.length < 2) {
+            return;
+        }
+        int n = arr.length;
+        long[] keys = new long[2 * n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = key.applyAsLong(arr[i]);
+        }
+        int[] idx = identity(n), idxScratch = new int[n];
+        permute(arr, lsd(keys, 0, keys, n, n, idx, idxScratch, counts) ? idxScratch : idx);
+    }
+
+    /**
+     * arr 按排列 p 重排：arr[i] = 原 arr[p[i]]
+     *
+     * @param arr
+     * @param p
+     * @param <T>
+     */
+    private static <T> void permute(T[] arr, int[] p) {
+        T[] copy = arr.clone();
+        for (int i = 0; i < p.length; i++) {
+            arr[i] = copy[p[i]];
+        }
+    }
+
+    /**
+     * 初始排列 [0, 1, ..., n - 1]
+     *
+     * @param n
+     * @return
+     */
+    private static int[] identity(int n) {
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            idx[i] = i;
+        }
+        return idx;
+    }
+
+    /**
+     * 索引排序：返回排列 p，使 keys[p[0]] <= keys[p[1]] <= ...，相等的键保持原顺序，不修改 keys
+     * 键复制到辅助数组中随下标一起移动，每趟顺序读写，不随机访问 keys
+     * Time: O(4 * n), Space: O(n)
+     *
+     * @param keys
+     * @return
+     */
+    public int[] argsort(int[] keys) {
+        int n = keys.length;
+        int[] idx = identity(n);
+        if (n < 2) {
+            return idx;
+        }
+        int[] buf = new int[2 * n], idxScratch = new int[n];
+        System.arraycopy(keys, 0, buf, 0, n);
+        return lsd(buf, 0, buf, n, n, idx, idxScratch, counts) ? idxScratch : idx;
+    }
+
+    /**
+     * 同 argsort(int[])，共 8 趟
+     *
+     * @param keys
+     * @return
+     */
+    public int[] argsort(long[] keys) {
+        int n = keys.length;
+        int[] idx = identity(n);
+        if (n < 2) {
+            return idx;
+        }
+        long[] buf = new long[2 * n];
+        int[] idxScratch = new int[n];
+        System.arraycopy(keys, 0, buf, 0, n);
+        return lsd(buf, 0, buf, n, n, idx, idxScratch, counts) ? idxScratch : idx;
+    }
+
+    /**
+     * 同 argsort(long[])，键的顺序与 sort(double[]) 一致
+     *
+     * @param keys
+     * @return
+     */
+    public int[] argsort(double[] keys) {
+        int n = keys.length;
+        int[] idx = identity(n);
+        if (n < 2) {
+            return idx;
+        }
+        long[] buf = new long[2 * n];
+        int[] idxScratch = new int[n];
+        for (int i = 0; i < n; i++) {
+            buf[i] = doubleKey(Double.doubleToLongBits(keys[i]));
+        }
+        return lsd(buf, 0, buf, n, n, idx, idxScratch, counts) ? idxScratch : idx;
+    }
+
+    /**
+     * 归并排序下标，同 mergeSort(T[], T[], int, int, Comparator)
+     *
+     * @param arr
+     * @param src
+     * @param dest
+     * @param low
+     * @param high 不包含
+     * @param c
+     * @param <T>
+     */
+    private static <T> void mergeSortIndex(T[] arr, int[] src, int[] dest, int low, int high, Comparator<? super T> c) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                int j = i - 1, cur = dest[i];
+                for (; j >= low && c.compare(arr[dest[j]], arr[cur]) > 0; j--) {
+                    dest[j + 1] = dest[j];
+                }
+                dest[j + 1] = cur;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSortIndex(arr, dest, src, low, mid, c);
+        mergeSortIndex(arr, dest, src, mid, high, c);
+        if (c.compare(arr[src[mid - 1]], arr[src[mid]]) <= 0) {
+            System.arraycopy(src, low, dest, low, high - low);
+            return;
+        }
+        for (int k = low, i = low, j = mid; k < high; k++) {
+            if (j >= high || i < mid && c.compare(arr[src[i]], arr[src[j]]) <= 0) {
+                dest[k] = src[i++];
+            } else {
+                dest[k] = src[j++];
+            }
+        }
+    }
+
+    /**
+     * 索引排序：返回排列 p，使 arr[p[0]] <= arr[p[1]] <= ...（按 c 比较），相等的元素保持原顺序，不修改 arr
+     * Time: O(n*log(n)), Space: O(n)
+     *
+     * @param arr
+     * @param c
+     * @param <T>
+     * @return
+     */
+    public <T> int[] argsort(T[] arr, Comparator<? super T> c) {
+        int n = arr.length;
+        int[] idx = identity(n);
+        if (n < 2) {
+            return idx;
+        }
+        mergeSortIndex(arr, idx.clone(), idx, 0, n, c);
+        return idx;
+    }
+}